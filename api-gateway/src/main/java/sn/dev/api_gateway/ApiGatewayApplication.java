@@ -2,10 +2,14 @@ package sn.dev.api_gateway;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
+import sn.dev.api_gateway.config.RateLimitProperties;
+
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class ApiGatewayApplication {
 
 	public static void main(String[] args) {
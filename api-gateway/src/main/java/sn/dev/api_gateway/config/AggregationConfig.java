@@ -0,0 +1,34 @@
+package sn.dev.api_gateway.config;
+
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import sn.dev.api_gateway.filters.ProductDetailAggregationFilter;
+import sn.dev.api_gateway.services.ProductDetailService;
+
+@Configuration
+public class AggregationConfig {
+
+    /**
+     * Declared here rather than in the config repository: it has no downstream URI, the
+     * filter composes the response itself
+     */
+    @Bean
+    public RouteLocator aggregationRoutes(RouteLocatorBuilder builder, ProductDetailService productDetailService,
+            ObjectMapper objectMapper) {
+        return builder.routes()
+                .route("product-details", route -> route
+                        .order(-1)
+                        .method(HttpMethod.GET)
+                        .and()
+                        .path("/api/product-details/{id}")
+                        .filters(filters -> filters.filter(new ProductDetailAggregationFilter(productDetailService, objectMapper)))
+                        .uri("no://op"))
+                .build();
+    }
+}
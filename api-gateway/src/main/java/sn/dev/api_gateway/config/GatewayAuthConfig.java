@@ -0,0 +1,29 @@
+package sn.dev.api_gateway.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.interfaces.RSAPublicKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.security.converter.RsaKeyConverters;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+@Configuration
+public class GatewayAuthConfig {
+
+    /**
+     * Verifies the tokens issued by user-service (same public key as the services),
+     * without blocking the event loop
+     */
+    @Bean
+    public ReactiveJwtDecoder reactiveJwtDecoder(@Value("${gateway.auth.public-key}") Resource publicKey) throws IOException {
+        try (InputStream inputStream = publicKey.getInputStream()) {
+            RSAPublicKey key = RsaKeyConverters.x509().convert(inputStream);
+            return NimbusReactiveJwtDecoder.withPublicKey(key).build();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package sn.dev.api_gateway.config;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Token-bucket limits: each client (userID when authenticated, IP otherwise) gets a bucket of
+ * {@code capacity} requests refilled at {@code refillPerSecond}, per route. Routes without an
+ * entry in {@code routes} (keyed by route id) use {@code defaultLimit}.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Limit defaultLimit,
+        Map<String, Limit> routes,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue("10m") Duration idleTimeout) {
+
+    public record Limit(
+            @DefaultValue("100") int capacity,
+            @DefaultValue("20") double refillPerSecond) {
+    }
+
+    public Limit limitFor(String routeId) {
+        if (routes == null || routeId == null) {
+            return defaultLimit;
+        }
+        return routes.getOrDefault(routeId, defaultLimit);
+    }
+}
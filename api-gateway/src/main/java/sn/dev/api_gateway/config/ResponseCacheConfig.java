@@ -0,0 +1,40 @@
+package sn.dev.api_gateway.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import sn.dev.api_gateway.filters.CachedResponse;
+
+@Configuration
+@ConditionalOnProperty(name = "gateway.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheConfig {
+
+    /**
+     * Weighed by the stored bytes so a few large listings cannot push the gateway out of memory
+     */
+    @Bean
+    public Cache<String, CachedResponse> responseCache(
+            @Value("${gateway.cache.max-bytes:33554432}") long maxBytes,
+            @Value("${gateway.cache.ttl:5m}") Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Bean
+    public MeterBinder responseCacheMetrics(Cache<String, CachedResponse> responseCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, responseCache, "gateway.responses");
+    }
+}
@@ -0,0 +1,17 @@
+package sn.dev.api_gateway.filters;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * A GET response kept by the {@link ResponseCacheFilter}: the body, its ETag and the few
+ * headers that describe the representation (never per-request ones such as CORS).
+ */
+public record CachedResponse(byte[] body, String etag, HttpHeaders headers) {
+
+    /**
+     * Approximate footprint, used to bound the cache by bytes rather than by entries
+     */
+    public int weight() {
+        return body.length + etag.length() + headers.toString().length();
+    }
+}
@@ -0,0 +1,41 @@
+package sn.dev.api_gateway.filters;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Identity headers forwarded to the services once the JWT is verified. The signature is an
+ * HMAC-SHA256 (shared secret) over the other values, checked the same way by the services.
+ */
+public final class InternalAuthHeaders {
+    public static final String SUBJECT = "X-Auth-Subject";
+    public static final String USER_ID = "X-Auth-User-Id";
+    public static final String AUTHORITIES = "X-Auth-Authorities";
+    public static final String EXPIRES = "X-Auth-Expires";
+    public static final String SIGNATURE = "X-Auth-Signature";
+
+    public static final List<String> ALL = List.of(SUBJECT, USER_ID, AUTHORITIES, EXPIRES, SIGNATURE);
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private InternalAuthHeaders() {
+    }
+
+    public static String sign(String secret, String subject, String userId, String authorities, long expires) {
+        String payload = subject + "\n" + userId + "\n" + authorities + "\n" + expires;
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Cannot sign internal auth headers", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package sn.dev.api_gateway.filters;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies the bearer token once, at the edge. Requests with an invalid or expired token are
+ * answered 401 here; valid ones go on with the verified identity in signed X-Auth-* headers
+ * (when an internal secret is configured) so the services can skip their own RSA check.
+ * X-Auth-* headers sent by clients are always dropped.
+ */
+@Component
+public class JwtRelayFilter implements GlobalFilter, Ordered {
+    public static final String VERIFIED_JWT = JwtRelayFilter.class.getName() + ".JWT";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ReactiveJwtDecoder jwtDecoder;
+    private final RateLimitFilter rateLimitFilter;
+    private final String internalSecret;
+
+    public JwtRelayFilter(ReactiveJwtDecoder jwtDecoder, RateLimitFilter rateLimitFilter,
+            @Value("${gateway.auth.internal-secret:}") String internalSecret) {
+        this.jwtDecoder = jwtDecoder;
+        this.rateLimitFilter = rateLimitFilter;
+        this.internalSecret = internalSecret;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> InternalAuthHeaders.ALL.forEach(headers::remove))
+                .build();
+
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return chain.filter(exchange.mutate().request(request).build());
+        }
+
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        return jwtDecoder.decode(token)
+                .map(Optional::of)
+                .onErrorResume(JwtException.class, e -> Mono.just(Optional.empty()))
+                .flatMap(jwt -> {
+                    if (jwt.isEmpty()) {
+                        // Counted against the client's address, so forged tokens end up throttled (429)
+                        return rateLimitFilter.limit(exchange, () -> unauthorized(exchange));
+                    }
+                    // Later filters (rate limiting) key on the verified identity
+                    exchange.getAttributes().put(VERIFIED_JWT, jwt.get());
+                    return chain.filter(exchange.mutate().request(withIdentity(request, jwt.get())).build());
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // Before routing and the other filters, which rely on the verified identity
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    private ServerHttpRequest withIdentity(ServerHttpRequest request, Jwt jwt) {
+        if (internalSecret == null || internalSecret.isBlank()) {
+            return request;
+        }
+        String subject = valueOrEmpty(jwt.getSubject());
+        String userId = valueOrEmpty(jwt.getClaimAsString("userID"));
+        String authorities = valueOrEmpty(jwt.getClaimAsString("authorities"));
+        Instant expiresAt = jwt.getExpiresAt();
+        long expires = expiresAt == null ? Instant.now().plusSeconds(60).getEpochSecond() : expiresAt.getEpochSecond();
+        String signature = InternalAuthHeaders.sign(internalSecret, subject, userId, authorities, expires);
+
+        return request.mutate()
+                .header(InternalAuthHeaders.SUBJECT, subject)
+                .header(InternalAuthHeaders.USER_ID, userId)
+                .header(InternalAuthHeaders.AUTHORITIES, authorities)
+                .header(InternalAuthHeaders.EXPIRES, String.valueOf(expires))
+                .header(InternalAuthHeaders.SIGNATURE, signature)
+                .build();
+    }
+
+    private static Mono<Void> unauthorized(ServerWebExchange exchange) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        return exchange.getResponse().setComplete();
+    }
+
+    private static String valueOrEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
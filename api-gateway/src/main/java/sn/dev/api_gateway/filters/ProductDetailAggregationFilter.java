@@ -0,0 +1,75 @@
+package sn.dev.api_gateway.filters;
+
+import java.util.Map;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.services.ProductDetailService;
+
+/**
+ * Terminal filter of the product-details route: answers with the composed document instead of
+ * proxying, so the route still goes through the global filters (token check, rate limit, CORS).
+ */
+public class ProductDetailAggregationFilter implements GatewayFilter {
+    private final ProductDetailService productDetailService;
+    private final ObjectMapper objectMapper;
+
+    public ProductDetailAggregationFilter(ProductDetailService productDetailService, ObjectMapper objectMapper) {
+        this.productDetailService = productDetailService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Map<String, String> variables = ServerWebExchangeUtils.getUriTemplateVariables(exchange);
+        ServerHttpResponse response = exchange.getResponse();
+
+        return productDetailService.getProductDetail(variables.get("id"), forwardedHeaders(exchange))
+                .flatMap(detail -> {
+                    byte[] body;
+                    try {
+                        body = objectMapper.writeValueAsBytes(detail);
+                    } catch (JsonProcessingException e) {
+                        return Mono.error(e);
+                    }
+                    DataBuffer buffer = response.bufferFactory().wrap(body);
+                    response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                    response.getHeaders().setContentLength(body.length);
+                    return response.writeWith(Mono.just(buffer));
+                })
+                .onErrorResume(ResponseStatusException.class, e -> {
+                    response.setStatusCode(e.getStatusCode());
+                    return response.setComplete();
+                });
+    }
+
+    /**
+     * The caller's identity for the services: its token and, when the gateway signed them, the
+     * X-Auth-* headers so they skip their own JWT check
+     */
+    private static HttpHeaders forwardedHeaders(ServerWebExchange exchange) {
+        HttpHeaders incoming = exchange.getRequest().getHeaders();
+        HttpHeaders forwarded = new HttpHeaders();
+        if (incoming.containsKey(HttpHeaders.AUTHORIZATION)) {
+            forwarded.put(HttpHeaders.AUTHORIZATION, incoming.get(HttpHeaders.AUTHORIZATION));
+        }
+        for (String name : InternalAuthHeaders.ALL) {
+            if (incoming.containsKey(name)) {
+                forwarded.put(name, incoming.get(name));
+            }
+        }
+        return forwarded;
+    }
+}
@@ -0,0 +1,102 @@
+package sn.dev.api_gateway.filters;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.config.RateLimitProperties;
+
+/**
+ * Per-client rate limiting, in memory (no Redis): one token bucket per route and client, the
+ * client being the verified userID or, for anonymous calls, the remote address.
+ * Over the limit the request is answered 429 with Retry-After and never reaches the services.
+ * Requests rejected for an invalid token count against the remote address as well.
+ * The limits are per gateway instance.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+    public static final String REMAINING = "X-RateLimit-Remaining";
+
+    private final RateLimitProperties properties;
+    // Idle clients are dropped so a scan over many IPs cannot grow this without bound
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return limit(exchange, () -> chain.filter(exchange));
+    }
+
+    /**
+     * Takes a token from the client's bucket, then goes on with {@code next} or answers 429.
+     * Also called by JwtRelayFilter for the requests it rejects, which never reach this filter:
+     * without it, guessing tokens would cost nothing against the limit.
+     */
+    public Mono<Void> limit(ServerWebExchange exchange, Supplier<Mono<Void>> next) {
+        if (!properties.enabled()) {
+            return next.get();
+        }
+
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+        RateLimitProperties.Limit limit = properties.limitFor(routeId);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(routeId + "|" + clientKey(exchange),
+                key -> new TokenBucket(limit.capacity(), limit.refillPerSecond(), now));
+
+        long waitNanos = bucket.tryConsume(now);
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set(REMAINING, String.valueOf(bucket.remaining()));
+        if (waitNanos == 0) {
+            return next.get();
+        }
+
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        return exchange.getResponse().setComplete();
+    }
+
+    @Override
+    public int getOrder() {
+        // After the token check (the userID is the key), before the response cache
+        return Ordered.HIGHEST_PRECEDENCE + 15;
+    }
+
+    private static String clientKey(ServerWebExchange exchange) {
+        Jwt jwt = exchange.getAttribute(JwtRelayFilter.VERIFIED_JWT);
+        if (jwt != null && jwt.getClaimAsString("userID") != null) {
+            return "user:" + jwt.getClaimAsString("userID");
+        }
+        // The gateway terminates TLS for the clients, X-Forwarded-For would only be client-supplied
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null) {
+            return "ip:unknown";
+        }
+        return "ip:" + (remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : remoteAddress.getHostString());
+    }
+}
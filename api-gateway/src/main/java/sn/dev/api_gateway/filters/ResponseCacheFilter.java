@@ -0,0 +1,279 @@
+package sn.dev.api_gateway.filters;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches the JSON GET responses of the configured paths and answers conditional requests:
+ * every cached response carries an ETag and a matching If-None-Match gets a bodiless 304,
+ * whether the entry was already cached or has just been fetched.
+ * Writes (POST, PUT, PATCH, DELETE) under a cached path, or under a path whose data the
+ * cached responses embed (gateway.cache.invalidated-by, e.g. media in the product listings),
+ * drop that path's entries, before being forwarded and again once answered; a GET that
+ * overlapped a write is not stored.
+ * Streaming responses (NDJSON export) go through untouched, and a body is only held until it
+ * exceeds the entry size limit: a larger one is streamed on without being cached.
+ */
+@Component
+@ConditionalOnProperty(name = "gateway.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+    public static final String CACHE_STATUS = "X-Cache";
+
+    // Describe the representation; CORS and other per-request headers are left to each response
+    private static final List<String> STORED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CACHE_CONTROL, HttpHeaders.LAST_MODIFIED);
+
+    private final Cache<String, CachedResponse> cache;
+    private final List<String> paths;
+    // Write path -> cached paths whose responses include its data
+    private final Map<String, List<String>> invalidatedBy;
+    private final int maxEntryBytes;
+    // Bumped by every write, a GET only stores its response if none happened meanwhile
+    private final AtomicLong generation = new AtomicLong();
+
+    public ResponseCacheFilter(Cache<String, CachedResponse> responseCache,
+            @Value("${gateway.cache.paths:/api/products}") List<String> paths,
+            @Value("${gateway.cache.invalidated-by:}") List<String> invalidatedBy,
+            @Value("${gateway.cache.max-entry-bytes:1048576}") int maxEntryBytes) {
+        this.cache = responseCache;
+        this.paths = paths;
+        this.invalidatedBy = parseInvalidatedBy(invalidatedBy);
+        this.maxEntryBytes = maxEntryBytes;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        HttpMethod method = request.getMethod();
+        if (HttpMethod.GET.equals(method) && cachedPath(path) != null) {
+            return serve(exchange, chain, key(request, path));
+        }
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+            return chain.filter(exchange);
+        }
+
+        List<String> invalidated = invalidatedPaths(path);
+        if (invalidated.isEmpty()) {
+            return chain.filter(exchange);
+        }
+        invalidate(invalidated);
+        return chain.filter(exchange).doFinally(signal -> invalidate(invalidated));
+    }
+
+    @Override
+    public int getOrder() {
+        // After the token check, so an invalid token is still rejected on a cached path
+        return Ordered.HIGHEST_PRECEDENCE + 20;
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
+        ServerHttpRequest request = exchange.getRequest();
+        boolean revalidate = request.getHeaders().getCacheControl() != null
+                && request.getHeaders().getCacheControl().contains("no-cache");
+        CachedResponse cached = revalidate ? null : cache.getIfPresent(key);
+        if (cached != null) {
+            return writeCached(exchange, cached);
+        }
+
+        long startGeneration = generation.get();
+        ServerHttpResponse response = exchange.getResponse();
+        ServerHttpResponseDecorator decorated = new ServerHttpResponseDecorator(response) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!cacheable(getDelegate())) {
+                    return super.writeWith(body);
+                }
+                if (getDelegate().getHeaders().getContentLength() > maxEntryBytes) {
+                    getDelegate().getHeaders().set(CACHE_STATUS, "MISS");
+                    return super.writeWith(body);
+                }
+
+                // Chunked bodies have no length: buffers are held until the body ends or exceeds the limit
+                AtomicLong size = new AtomicLong();
+                return Flux.<DataBuffer>from(body)
+                        .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxEntryBytes)
+                        .switchOnFirst((first, buffers) -> {
+                            if (!first.hasValue()) {
+                                return buffers.then(Mono.defer(() -> super.writeWith(Flux.empty())));
+                            }
+                            if (size.get() <= maxEntryBytes) {
+                                // The whole body, within the limit
+                                return buffers.next().flatMap(whole ->
+                                        writeFetched(request, getDelegate(), key, toBytes(whole), startGeneration));
+                            }
+                            getDelegate().getHeaders().set(CACHE_STATUS, "MISS");
+                            return super.writeWith(buffers.concatMapIterable(held -> held));
+                        })
+                        .then();
+            }
+        };
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+
+    private Mono<Void> writeFetched(ServerHttpRequest request, ServerHttpResponse response, String key,
+            byte[] body, long startGeneration) {
+        HttpHeaders headers = response.getHeaders();
+        String etag = etag(body);
+        headers.setETag(etag);
+        headers.set(CACHE_STATUS, "MISS");
+        if (body.length <= maxEntryBytes && generation.get() == startGeneration) {
+            cache.put(key, new CachedResponse(body, etag, storedHeaders(headers)));
+        }
+
+        if (notModified(request, etag)) {
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(cached.headers());
+        headers.setETag(cached.etag());
+        headers.set(CACHE_STATUS, "HIT");
+
+        if (notModified(exchange.getRequest(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private void invalidate(List<String> cachedPaths) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> cachedPaths.stream().anyMatch(cachedPath -> key.equals(cachedPath)
+                || key.startsWith(cachedPath + "/")
+                || key.startsWith(cachedPath + "?")));
+    }
+
+    private String cachedPath(String path) {
+        for (String cachedPath : paths) {
+            if (under(path, cachedPath)) {
+                return cachedPath;
+            }
+        }
+        return null;
+    }
+
+    private List<String> invalidatedPaths(String path) {
+        List<String> invalidated = new ArrayList<>();
+        String cachedPath = cachedPath(path);
+        if (cachedPath != null) {
+            invalidated.add(cachedPath);
+        }
+        invalidatedBy.forEach((writePath, cachedPaths) -> {
+            if (under(path, writePath)) {
+                invalidated.addAll(cachedPaths);
+            }
+        });
+        return invalidated;
+    }
+
+    private static boolean under(String path, String prefix) {
+        return path.equals(prefix) || path.startsWith(prefix + "/");
+    }
+
+    /**
+     * "/api/media=/api/products" entries, several entries for the same write path add up
+     */
+    private static Map<String, List<String>> parseInvalidatedBy(List<String> entries) {
+        Map<String, List<String>> parsed = new LinkedHashMap<>();
+        for (String entry : entries) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalArgumentException("gateway.cache.invalidated-by expects writePath=cachedPath, got " + entry);
+            }
+            parsed.computeIfAbsent(entry.substring(0, separator).trim(), key -> new ArrayList<>())
+                    .add(entry.substring(separator + 1).trim());
+        }
+        return parsed;
+    }
+
+    private static byte[] toBytes(List<? extends DataBuffer> buffers) {
+        int length = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int count = buffer.readableByteCount();
+            buffer.read(bytes, offset, count);
+            offset += count;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+
+    private static String key(ServerHttpRequest request, String path) {
+        String query = request.getURI().getRawQuery();
+        return query == null ? path : path + "?" + query;
+    }
+
+    private static boolean cacheable(ServerHttpResponse response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        String cacheControl = response.getHeaders().getCacheControl();
+        return HttpStatus.OK.equals(response.getStatusCode())
+                && contentType != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                && !response.getHeaders().containsKey(HttpHeaders.SET_COOKIE)
+                && (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+    }
+
+    private static boolean notModified(ServerHttpRequest request, String etag) {
+        for (String candidate : request.getHeaders().getIfNoneMatch()) {
+            // Weak comparison, as required for If-None-Match
+            String value = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    private static HttpHeaders storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        for (String name : STORED_HEADERS) {
+            List<String> values = headers.get(name);
+            if (values != null) {
+                stored.put(name, List.copyOf(values));
+            }
+        }
+        return stored;
+    }
+}
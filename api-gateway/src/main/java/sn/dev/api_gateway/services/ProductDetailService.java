@@ -0,0 +1,10 @@
+package sn.dev.api_gateway.services;
+
+import org.springframework.http.HttpHeaders;
+
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.web.dto.ProductDetail;
+
+public interface ProductDetailService {
+    Mono<ProductDetail> getProductDetail(String productId, HttpHeaders forwardedHeaders);
+}
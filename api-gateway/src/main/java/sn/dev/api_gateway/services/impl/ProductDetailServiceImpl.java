@@ -0,0 +1,110 @@
+package sn.dev.api_gateway.services.impl;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.services.ProductDetailService;
+import sn.dev.api_gateway.web.dto.ProductDetail;
+
+/**
+ * Composes the product-detail page from the three services, without blocking: product and
+ * media are fetched in parallel, the seller as soon as the product gives its userId.
+ * Each call has its own timeout; a failed part is left out and reported, only a product
+ * that does not exist fails the whole document (404).
+ */
+@Service
+public class ProductDetailServiceImpl implements ProductDetailService {
+    private static final String PRODUCT = "product";
+    private static final String IMAGES = "images";
+    private static final String SELLER = "seller";
+
+    private final WebClient webClient;
+    private final Duration productTimeout;
+    private final Duration mediaTimeout;
+    private final Duration sellerTimeout;
+
+    /**
+     * The client is built from Boot's builder (codecs, metrics, customizers), cloned so the
+     * load balancer filter, which resolves http://{service-name}/... through Eureka like the
+     * lb:// routes, stays out of the builder other beans get
+     */
+    public ProductDetailServiceImpl(WebClient.Builder webClientBuilder,
+            LoadBalancedExchangeFilterFunction loadBalancerFilter,
+            @Value("${gateway.aggregation.product-timeout:2s}") Duration productTimeout,
+            @Value("${gateway.aggregation.media-timeout:2s}") Duration mediaTimeout,
+            @Value("${gateway.aggregation.seller-timeout:1s}") Duration sellerTimeout) {
+        this.webClient = webClientBuilder.clone().filter(loadBalancerFilter).build();
+        this.productTimeout = productTimeout;
+        this.mediaTimeout = mediaTimeout;
+        this.sellerTimeout = sellerTimeout;
+    }
+
+    @Override
+    public Mono<ProductDetail> getProductDetail(String productId, HttpHeaders forwardedHeaders) {
+        Map<String, String> errors = new ConcurrentHashMap<>();
+
+        Mono<JsonNode> product = partial(PRODUCT, errors,
+                get("http://product-service/api/products/{id}", productId, forwardedHeaders, productTimeout)
+                        .onErrorMap(WebClientResponseException.NotFound.class,
+                                e -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found")))
+                .cache();
+        Mono<JsonNode> images = partial(IMAGES, errors,
+                get("http://media-service/api/media/product/{id}", productId, forwardedHeaders, mediaTimeout));
+        Mono<JsonNode> seller = product
+                .mapNotNull(node -> node.path("userId").textValue())
+                .flatMap(userId -> partial(SELLER, errors,
+                        get("http://user-service/api/users/{id}/custom", userId, forwardedHeaders, sellerTimeout)));
+
+        return Mono.zip(optional(product), optional(images), optional(seller))
+                .map(parts -> new ProductDetail(
+                        parts.getT1().orElse(null),
+                        parts.getT2().orElse(null),
+                        parts.getT3().orElse(null),
+                        Map.copyOf(errors)));
+    }
+
+    private Mono<JsonNode> get(String uri, String id, HttpHeaders forwardedHeaders, Duration timeout) {
+        return webClient.get()
+                .uri(uri, id)
+                .headers(headers -> headers.addAll(forwardedHeaders))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout);
+    }
+
+    private static Mono<JsonNode> partial(String part, Map<String, String> errors, Mono<JsonNode> call) {
+        return call.onErrorResume(e -> !(e instanceof ResponseStatusException), e -> {
+            errors.put(part, describe(e));
+            return Mono.empty();
+        });
+    }
+
+    private static Mono<Optional<JsonNode>> optional(Mono<JsonNode> part) {
+        return part.map(Optional::of).defaultIfEmpty(Optional.empty());
+    }
+
+    private static String describe(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (error instanceof WebClientResponseException responseException) {
+            return "status " + responseException.getStatusCode().value();
+        }
+        return "unavailable";
+    }
+}
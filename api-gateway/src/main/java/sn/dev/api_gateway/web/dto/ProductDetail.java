@@ -0,0 +1,12 @@
+package sn.dev.api_gateway.web.dto;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Product-detail page in one document. Each part is the JSON of its service, as returned;
+ * a part that failed or timed out is null and the reason is listed in {@code errors}.
+ */
+public record ProductDetail(JsonNode product, JsonNode images, JsonNode seller, Map<String, String> errors) {
+}
@@ -0,0 +1,156 @@
+package sn.dev.api_gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.InetSocketAddress;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.config.RateLimitProperties;
+import sn.dev.api_gateway.filters.InternalAuthHeaders;
+import sn.dev.api_gateway.filters.JwtRelayFilter;
+import sn.dev.api_gateway.filters.RateLimitFilter;
+
+class JwtRelayFilterTests {
+    private static final String SECRET = "test-secret";
+
+    private NimbusJwtEncoder encoder;
+    private JwtRelayFilter filter;
+    private final AtomicReference<ServerHttpRequest> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange.getRequest());
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAKey jwk = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .privateKey((RSAPrivateKey) keyPair.getPrivate()).build();
+        encoder = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk)));
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(new RateLimitProperties(true,
+                new RateLimitProperties.Limit(2, 0.1), Map.of(), 1000, Duration.ofMinutes(10)));
+        filter = new JwtRelayFilter(NimbusReactiveJwtDecoder.withPublicKey((RSAPublicKey) keyPair.getPublic()).build(),
+                rateLimitFilter, SECRET);
+    }
+
+    private String token(Instant expiresAt) {
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("john@example.com")
+                .issuedAt(expiresAt.minusSeconds(3600))
+                .expiresAt(expiresAt)
+                .claim("userID", "123")
+                .claim("authorities", "SELLER")
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(claims)).getTokenValue();
+    }
+
+    @Test
+    void validToken_forwardsSignedIdentity() {
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(expiresAt)));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getHeaders();
+        assertEquals("123", headers.getFirst(InternalAuthHeaders.USER_ID));
+        assertEquals("SELLER", headers.getFirst(InternalAuthHeaders.AUTHORITIES));
+        assertEquals(InternalAuthHeaders.sign(SECRET, "john@example.com", "123", "SELLER", expiresAt.getEpochSecond()),
+                headers.getFirst(InternalAuthHeaders.SIGNATURE));
+    }
+
+    @Test
+    void signature_matchesTheServicesTestVector() {
+        // Same vector as product-service and user-service TrustedHeaderAuthenticationFilterTest,
+        // which check the headers the way the gateway signs them: update the three together
+        assertEquals("JkI5vW7bf1PjfxaqAA0cCgKqcTCJ_xGGVOO0yRAMD8A",
+                InternalAuthHeaders.sign("gateway-test-vector", "seller@example.com", "user-1", "ROLE_SELLER", 4102444800L));
+    }
+
+    @Test
+    void invalidToken_rejectedAtTheEdge() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertNull(forwarded.get());
+    }
+
+    @Test
+    void repeatedInvalidTokens_throttledPerAddress() {
+        HttpStatus[] statuses = new HttpStatus[3];
+        for (int i = 0; i < statuses.length; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products")
+                    .remoteAddress(new InetSocketAddress("10.0.0.1", 50000))
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer forged-" + i));
+            filter.filter(exchange, chain).block();
+            statuses[i] = (HttpStatus) exchange.getResponse().getStatusCode();
+        }
+
+        assertEquals(HttpStatus.UNAUTHORIZED, statuses[0]);
+        assertEquals(HttpStatus.UNAUTHORIZED, statuses[1]);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, statuses[2]);
+        assertNull(forwarded.get());
+
+        // Another address still gets its own budget
+        MockServerWebExchange other = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products")
+                .remoteAddress(new InetSocketAddress("10.0.0.2", 50000))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer forged"));
+        filter.filter(other, chain).block();
+        assertEquals(HttpStatus.UNAUTHORIZED, other.getResponse().getStatusCode());
+    }
+
+    @Test
+    void expiredToken_rejectedAtTheEdge() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token(Instant.now().minusSeconds(600))));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void clientSuppliedIdentityHeaders_areDropped() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products")
+                .header(InternalAuthHeaders.USER_ID, "someone-else")
+                .header(InternalAuthHeaders.SIGNATURE, "forged"));
+
+        filter.filter(exchange, chain).block();
+
+        HttpHeaders headers = forwarded.get().getHeaders();
+        assertFalse(headers.containsKey(InternalAuthHeaders.USER_ID));
+        assertFalse(headers.containsKey(InternalAuthHeaders.SIGNATURE));
+    }
+}
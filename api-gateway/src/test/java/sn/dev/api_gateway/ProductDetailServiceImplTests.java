@@ -0,0 +1,99 @@
+package sn.dev.api_gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.services.impl.ProductDetailServiceImpl;
+import sn.dev.api_gateway.web.dto.ProductDetail;
+
+class ProductDetailServiceImplTests {
+    private final Map<String, Mono<ClientResponse>> responses = new ConcurrentHashMap<>();
+    private final Map<String, String> authorizations = new ConcurrentHashMap<>();
+    private final ExchangeFunction exchange = request -> {
+        String host = request.url().getHost();
+        authorizations.put(host, String.valueOf(request.headers().getFirst(HttpHeaders.AUTHORIZATION)));
+        return responses.getOrDefault(host, Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+    };
+    private final ProductDetailServiceImpl service = new ProductDetailServiceImpl(
+            WebClient.builder().exchangeFunction(exchange), (request, next) -> next.exchange(request),
+            Duration.ofMillis(500), Duration.ofMillis(200), Duration.ofMillis(500));
+
+    private static Mono<ClientResponse> json(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private static HttpHeaders bearer() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth("token");
+        return headers;
+    }
+
+    @Test
+    void allSourcesAnswer_composedDocument() {
+        responses.put("product-service", json("{\"id\":\"p1\",\"name\":\"Laptop\",\"userId\":\"u1\"}"));
+        responses.put("media-service", json("[{\"id\":\"m1\",\"imageUrl\":\"https://cdn/m1.jpg\"}]"));
+        responses.put("user-service", json("{\"id\":\"u1\",\"name\":\"Seller\"}"));
+
+        ProductDetail detail = service.getProductDetail("p1", bearer()).block();
+
+        assertEquals("Laptop", detail.product().get("name").asText());
+        assertEquals("m1", detail.images().get(0).get("id").asText());
+        assertEquals("Seller", detail.seller().get("name").asText());
+        assertEquals(Map.of(), detail.errors());
+        assertEquals("Bearer token", authorizations.get("user-service"));
+    }
+
+    @Test
+    void slowMedia_partialResultWithError() {
+        responses.put("product-service", json("{\"id\":\"p1\",\"userId\":\"u1\"}"));
+        responses.put("media-service", json("[]").delayElement(Duration.ofSeconds(2)));
+        responses.put("user-service", json("{\"id\":\"u1\"}"));
+
+        ProductDetail detail = service.getProductDetail("p1", bearer()).block(Duration.ofSeconds(1));
+
+        assertEquals("p1", detail.product().get("id").asText());
+        assertNull(detail.images());
+        assertEquals("u1", detail.seller().get("id").asText());
+        assertEquals(Map.of("images", "timeout"), detail.errors());
+    }
+
+    @Test
+    void sellerRejected_partialResultWithStatus() {
+        responses.put("product-service", json("{\"id\":\"p1\",\"userId\":\"u1\"}"));
+        responses.put("media-service", json("[]"));
+        responses.put("user-service", Mono.just(ClientResponse.create(HttpStatus.UNAUTHORIZED).build()));
+
+        ProductDetail detail = service.getProductDetail("p1", new HttpHeaders()).block();
+
+        assertNull(detail.seller());
+        assertEquals(Map.of("seller", "status 401"), detail.errors());
+    }
+
+    @Test
+    void unknownProduct_notFound() {
+        responses.put("media-service", json("[]"));
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> service.getProductDetail("missing", new HttpHeaders()).block());
+
+        assertEquals(HttpStatus.NOT_FOUND, error.getStatusCode());
+    }
+}
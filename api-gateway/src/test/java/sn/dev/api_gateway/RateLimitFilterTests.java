@@ -0,0 +1,106 @@
+package sn.dev.api_gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import reactor.core.publisher.Mono;
+import sn.dev.api_gateway.config.RateLimitProperties;
+import sn.dev.api_gateway.filters.JwtRelayFilter;
+import sn.dev.api_gateway.filters.RateLimitFilter;
+import sn.dev.api_gateway.filters.TokenBucket;
+
+class RateLimitFilterTests {
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimitProperties(true,
+            new RateLimitProperties.Limit(2, 0.1),
+            Map.of("user-service", new RateLimitProperties.Limit(1, 0.1)),
+            1000, Duration.ofMinutes(10)));
+
+    private MockServerWebExchange call(String ip, String userId, String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/products")
+                .remoteAddress(new InetSocketAddress(ip, 50000)));
+        if (userId != null) {
+            exchange.getAttributes().put(JwtRelayFilter.VERIFIED_JWT, Jwt.withTokenValue("token")
+                    .header("alg", "RS256")
+                    .claim("userID", userId)
+                    .expiresAt(Instant.now().plusSeconds(600))
+                    .build());
+        }
+        if (routeId != null) {
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                    .id(routeId).uri("lb://" + routeId).predicate(e -> true).build());
+        }
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    @Test
+    void overCapacity_rejectedWithRetryAfter() {
+        call("10.0.0.1", null, null);
+        call("10.0.0.1", null, null);
+        MockServerWebExchange third = call("10.0.0.1", null, null);
+
+        assertEquals(2, forwarded.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+        // One token every 10 seconds
+        assertEquals("10", third.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void clientsHaveSeparateBuckets() {
+        call("10.0.0.1", null, null);
+        call("10.0.0.1", null, null);
+        MockServerWebExchange otherIp = call("10.0.0.2", null, null);
+
+        assertNull(otherIp.getResponse().getStatusCode());
+        assertEquals(3, forwarded.get());
+    }
+
+    @Test
+    void authenticatedUser_keyedByUserIdAcrossAddresses() {
+        call("10.0.0.1", "user-1", null);
+        call("10.0.0.2", "user-1", null);
+        MockServerWebExchange third = call("10.0.0.3", "user-1", null);
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, third.getResponse().getStatusCode());
+    }
+
+    @Test
+    void routeOverride_appliesItsOwnLimit() {
+        call("10.0.0.1", null, "user-service");
+        MockServerWebExchange second = call("10.0.0.1", null, "user-service");
+        MockServerWebExchange otherRoute = call("10.0.0.1", null, "product-service");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertNull(otherRoute.getResponse().getStatusCode());
+    }
+
+    @Test
+    void tokenBucket_refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(1, 1, 0);
+
+        assertEquals(0, bucket.tryConsume(0));
+        assertEquals(Duration.ofSeconds(1).toNanos(), bucket.tryConsume(0));
+        assertEquals(0, bucket.tryConsume(Duration.ofSeconds(1).toNanos()));
+    }
+}
@@ -0,0 +1,223 @@
+package sn.dev.api_gateway;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import reactor.core.publisher.Flux;
+import sn.dev.api_gateway.config.ResponseCacheConfig;
+import sn.dev.api_gateway.filters.CachedResponse;
+import sn.dev.api_gateway.filters.ResponseCacheFilter;
+
+class ResponseCacheFilterTests {
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+    private final Cache<String, CachedResponse> cache = new ResponseCacheConfig().responseCache(1_000_000, Duration.ofMinutes(5));
+    private final ResponseCacheFilter filter = new ResponseCacheFilter(cache, List.of("/api/products"),
+            List.of("/api/media=/api/products"), 10_000);
+
+    private String body = "[{\"id\":\"1\",\"name\":\"Laptop\"}]";
+    // Written in this many buffers, as a chunked response arrives
+    private int chunks = 1;
+    private boolean contentLength;
+    private String cacheControl;
+    private final GatewayFilterChain chain = exchange -> {
+        downstreamCalls.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        if (!"GET".equals(exchange.getRequest().getMethod().name())) {
+            response.setStatusCode(HttpStatus.OK);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (cacheControl != null) {
+            response.getHeaders().setCacheControl(cacheControl);
+        }
+        if (contentLength) {
+            response.getHeaders().setContentLength(bytes.length);
+        }
+        int chunkSize = (bytes.length + chunks - 1) / chunks;
+        return response.writeWith(Flux.range(0, chunks).map(i -> response.bufferFactory()
+                .wrap(Arrays.copyOfRange(bytes, i * chunkSize, Math.min(bytes.length, (i + 1) * chunkSize)))));
+    };
+
+    private MockServerWebExchange get(String path, String ifNoneMatch) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get(path);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    @Test
+    void repeatedGet_servedFromCache() {
+        MockServerWebExchange first = get("/api/products", null);
+        MockServerWebExchange second = get("/api/products", null);
+
+        assertEquals(1, downstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS));
+        assertEquals(body, second.getResponse().getBodyAsString().block());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+    }
+
+    @Test
+    void matchingIfNoneMatch_returnsNotModifiedWithoutBody() {
+        String etag = get("/api/products/1", null).getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+
+        MockServerWebExchange revalidated = get("/api/products/1", etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+        assertEquals("", revalidated.getResponse().getBodyAsString().defaultIfEmpty("").block());
+        assertEquals(1, downstreamCalls.get());
+    }
+
+    @Test
+    void ifNoneMatchOnMiss_alsoReturnsNotModified() {
+        String etag = get("/api/products/1", null).getResponse().getHeaders().getETag();
+        cache.invalidateAll();
+
+        MockServerWebExchange revalidated = get("/api/products/1", "W/" + etag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getResponse().getStatusCode());
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void write_invalidatesCachedPath() {
+        get("/api/products/1", null);
+        get("/api/products?page=0", null);
+
+        MockServerWebExchange put = MockServerWebExchange.from(MockServerHttpRequest.put("/api/products/1"));
+        filter.filter(put, chain).block();
+        body = "[{\"id\":\"1\",\"name\":\"Gaming laptop\"}]";
+
+        assertEquals(body, get("/api/products/1", null).getResponse().getBodyAsString().block());
+        assertEquals(body, get("/api/products?page=0", null).getResponse().getBodyAsString().block());
+        assertEquals(5, downstreamCalls.get());
+    }
+
+    @Test
+    void mediaWrite_invalidatesProducts() {
+        get("/api/products/1", null);
+        get("/api/products", null);
+
+        MockServerWebExchange delete = MockServerWebExchange.from(MockServerHttpRequest.delete("/api/media/42"));
+        filter.filter(delete, chain).block();
+        body = "[{\"id\":\"1\",\"name\":\"Laptop\",\"images\":[]}]";
+
+        assertEquals(body, get("/api/products/1", null).getResponse().getBodyAsString().block());
+        assertEquals(body, get("/api/products", null).getResponse().getBodyAsString().block());
+        assertEquals(5, downstreamCalls.get());
+    }
+
+    @Test
+    void mediaRead_keepsProducts() {
+        get("/api/products", null);
+        get("/api/media/42", null);
+
+        assertEquals("HIT", get("/api/products", null).getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS));
+    }
+
+    @Test
+    void chunkedBodyOverLimit_streamedWithoutCaching() {
+        body = "[" + "{\"id\":\"1\",\"name\":\"Laptop\"},".repeat(600) + "{}]";
+        chunks = 16;
+
+        MockServerWebExchange first = get("/api/products", null);
+        MockServerWebExchange second = get("/api/products", null);
+
+        assertEquals(body, first.getResponse().getBodyAsString().block());
+        assertEquals("MISS", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS));
+        assertNull(first.getResponse().getHeaders().getETag());
+        assertEquals(2, downstreamCalls.get());
+        assertEquals(0, cache.estimatedSize());
+    }
+
+    @Test
+    void contentLengthOverLimit_streamedWithoutCaching() {
+        body = "[" + "{\"id\":\"1\",\"name\":\"Laptop\"},".repeat(600) + "{}]";
+        contentLength = true;
+
+        MockServerWebExchange first = get("/api/products", null);
+        get("/api/products", null);
+
+        assertEquals(body, first.getResponse().getBodyAsString().block());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS));
+        assertEquals(2, downstreamCalls.get());
+    }
+
+    @Test
+    void chunkedBodyWithinLimit_cachedWhole() {
+        chunks = 3;
+
+        get("/api/products", null);
+        MockServerWebExchange second = get("/api/products", null);
+
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS));
+        assertEquals(body, second.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void noStoreResponse_notCached() {
+        // What product-service answers when media-service is down and products come without images
+        cacheControl = "no-store";
+        body = "[{\"id\":\"1\",\"name\":\"Laptop\",\"images\":[]}]";
+        get("/api/products", null);
+
+        cacheControl = null;
+        body = "[{\"id\":\"1\",\"name\":\"Laptop\",\"images\":[{\"id\":\"m1\"}]}]";
+        MockServerWebExchange recovered = get("/api/products", null);
+
+        assertEquals(body, recovered.getResponse().getBodyAsString().block());
+        assertEquals(2, downstreamCalls.get());
+        assertEquals("HIT", get("/api/products", null).getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS));
+    }
+
+    @Test
+    void disabled_noCacheNorFilter() {
+        // Boot's conversions, for the ttl Duration
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withInitializer(context -> context.getBeanFactory()
+                        .setConversionService(ApplicationConversionService.getSharedInstance()))
+                .withUserConfiguration(ResponseCacheConfig.class, ResponseCacheFilter.class);
+
+        runner.run(context -> assertEquals(1, context.getBeansOfType(ResponseCacheFilter.class).size()));
+        runner.withPropertyValues("gateway.cache.enabled=false").run(context -> {
+            assertEquals(0, context.getBeansOfType(ResponseCacheFilter.class).size());
+            assertEquals(0, context.getBeansOfType(Cache.class).size());
+        });
+    }
+
+    @Test
+    void otherPaths_notCached() {
+        MockServerWebExchange first = get("/api/users/me", null);
+        get("/api/users/me", null);
+
+        assertEquals(2, downstreamCalls.get());
+        assertNull(first.getResponse().getHeaders().getETag());
+    }
+}
@@ -0,0 +1,70 @@
+package sn.dev.benchmarks;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+
+import sn.dev.user_service.data.entities.Role;
+import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.entities.UserPrincipal;
+import sn.dev.user_service.services.impl.JWTServicesImpl;
+
+/**
+ * JWTServicesImpl.generateToken, the end of every login: claims, then an RS256 signature with
+ * a 2048-bit key, encoder set up as in the user-service SecurityConfig.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtGenerationBenchmark {
+    private JWTServicesImpl jwtServices;
+    private Authentication authentication;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAKey jwk = new RSAKey.Builder((RSAPublicKey) keyPair.getPublic())
+                .privateKey((RSAPrivateKey) keyPair.getPrivate())
+                .build();
+        jwtServices = new JWTServicesImpl(new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(jwk))));
+
+        User user = new User();
+        user.setId("66f1c2a9e4b0a1b2c3d4e5f6");
+        user.setEmail("seller@example.com");
+        user.setName("Seller");
+        user.setRole(Role.SELLER);
+        UserPrincipal principal = new UserPrincipal(user);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtServices.generateToken(authentication);
+    }
+}
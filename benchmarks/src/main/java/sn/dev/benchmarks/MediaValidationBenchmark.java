@@ -0,0 +1,103 @@
+package sn.dev.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import sn.dev.media_service.services.impl.MediaServiceImpl;
+
+/**
+ * MediaServiceImpl.validateFile, run on every upload before anything is stored: file name
+ * checks, size, content type and magic number of the first bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MediaValidationBenchmark {
+    private static final MethodHandle VALIDATE_FILE =
+            PrivateMethods.find(MediaServiceImpl.class, "validateFile", MultipartFile.class);
+    private static final int IMAGE_SIZE = 64 * 1024;
+
+    private MediaServiceImpl mediaService;
+    private MultipartFile jpeg;
+    private MultipartFile png;
+    private MultipartFile webp;
+    private MultipartFile forgedPng;
+    private MultipartFile pathTraversal;
+
+    @Setup
+    public void setUp() {
+        // Validation uses none of the collaborators
+        mediaService = new MediaServiceImpl(null, null, null, null);
+        jpeg = image("holiday-photo.jpg", "image/jpeg", 0xFF, 0xD8, 0xFF, 0xE0);
+        png = image("product_front.png", "image/png", 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A);
+        webp = image("thumbnail.webp", "image/webp", 0x52, 0x49, 0x46, 0x46, 0, 0, 0, 0, 0x57, 0x45, 0x42, 0x50);
+        forgedPng = image("script.png", "image/png", 0x3C, 0x73, 0x63, 0x72);
+        pathTraversal = image("../../etc/passwd.png", "image/png", 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A);
+    }
+
+    private static MultipartFile image(String fileName, String contentType, int... signature) {
+        byte[] content = new byte[IMAGE_SIZE];
+        Arrays.fill(content, (byte) 0x2A);
+        for (int i = 0; i < signature.length; i++) {
+            content[i] = (byte) signature[i];
+        }
+        return new MockMultipartFile("file", fileName, contentType, content);
+    }
+
+    @Benchmark
+    public void validJpeg() throws Throwable {
+        VALIDATE_FILE.invokeExact(mediaService, jpeg);
+    }
+
+    @Benchmark
+    public void validPng() throws Throwable {
+        VALIDATE_FILE.invokeExact(mediaService, png);
+    }
+
+    @Benchmark
+    public void validWebp() throws Throwable {
+        VALIDATE_FILE.invokeExact(mediaService, webp);
+    }
+
+    /**
+     * Content that does not match the declared type, rejected after reading the header
+     */
+    @Benchmark
+    public Object rejectedSignature() throws Throwable {
+        return rejection(forgedPng);
+    }
+
+    /**
+     * Rejected on the file name, before the content is read
+     */
+    @Benchmark
+    public Object rejectedFileName() throws Throwable {
+        return rejection(pathTraversal);
+    }
+
+    private Object rejection(MultipartFile file) throws Throwable {
+        try {
+            VALIDATE_FILE.invokeExact(mediaService, file);
+            throw new IllegalStateException(file.getOriginalFilename() + " was accepted");
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+}
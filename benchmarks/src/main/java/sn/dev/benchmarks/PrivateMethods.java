@@ -0,0 +1,25 @@
+package sn.dev.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+/**
+ * Handles on the private methods under test. Held in static final fields, they are inlined by
+ * the JIT like a direct call, so the measurement is the method itself.
+ */
+final class PrivateMethods {
+
+    private PrivateMethods() {
+    }
+
+    static MethodHandle find(Class<?> owner, String name, Class<?>... parameterTypes) {
+        try {
+            Method method = owner.getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No method " + name + " on " + owner.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package sn.dev.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import sn.dev.product_service.data.entities.Media;
+import sn.dev.product_service.data.entities.Product;
+import sn.dev.product_service.web.dto.ProductResponseDTO;
+
+/**
+ * The CPU side of a product list response: mapping the products and their medias to
+ * ProductResponseDTO (as ProductControllerImpl.toResponseList does once the medias are
+ * fetched) and writing the list as JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSerializationBenchmark {
+    private static final int IMAGES_PER_PRODUCT = 3;
+
+    /**
+     * Default and maximum page sizes of the list endpoints
+     */
+    @Param({ "20", "100" })
+    public int size;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private List<Product> products;
+    private Map<String, List<Media>> mediasByProduct;
+    private List<ProductResponseDTO> responses;
+
+    @Setup
+    public void setUp() {
+        products = new ArrayList<>(size);
+        mediasByProduct = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            String id = String.format("%024x", i);
+            Product product = new Product("Product " + i,
+                    "Handmade leather item number " + i + ", tanned with vegetable extracts and stitched by hand.",
+                    19.99 + i, 10 + i, "seller-" + (i % 7));
+            product.setId(id);
+            products.add(product);
+
+            List<Media> medias = new ArrayList<>(IMAGES_PER_PRODUCT);
+            for (int j = 0; j < IMAGES_PER_PRODUCT; j++) {
+                String url = "https://storage.example.com/object/public/products/" + id + "_" + j;
+                medias.add(new Media(id + j, url + ".jpg", id,
+                        Map.of("200", url + "_200w.jpg", "600", url + "_600w.jpg", "1200", url + "_1200w.jpg")));
+            }
+            mediasByProduct.put(id, medias);
+        }
+        responses = toResponseList();
+    }
+
+    @Benchmark
+    public List<ProductResponseDTO> toResponseList() {
+        return products.stream()
+                .map(product -> new ProductResponseDTO(product,
+                        mediasByProduct.getOrDefault(product.getId(), List.of())))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] toResponseListAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(toResponseList());
+    }
+}
@@ -0,0 +1,53 @@
+package sn.dev.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sn.dev.media_service.services.impl.CloudStorageServiceImpl;
+
+/**
+ * CloudStorageServiceImpl.sanitizeFileName, which turns the uploaded file name into a storage
+ * key with three replaceAll passes (each compiling its regex) on every upload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SanitizeFileNameBenchmark {
+    private static final MethodHandle SANITIZE_FILE_NAME =
+            PrivateMethods.find(CloudStorageServiceImpl.class, "sanitizeFileName", String.class);
+
+    @Param({
+            "photo.jpg",
+            "IMG_20240101_123456--final__v2...edited.png",
+            "Mon produit d'été 2024 🎉 (copie) - version définitive pour la boutique.JPEG"
+    })
+    public String fileName;
+
+    private CloudStorageServiceImpl storageService;
+
+    @Setup
+    public void setUp() {
+        // No HTTP call is made
+        storageService = new CloudStorageServiceImpl(null);
+    }
+
+    @Benchmark
+    public String sanitizeFileName() throws Throwable {
+        return (String) SANITIZE_FILE_NAME.invokeExact(storageService, fileName);
+    }
+}
@@ -0,0 +1,82 @@
+package sn.dev.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Stands in for Supabase Storage: accepts the object uploads of media-service
+ * (PUT/POST /storage/v1/object/{bucket}/{name}) after a fixed latency, like a remote bucket,
+ * and drops the bytes. Objects are not kept, the public URLs it implies are never fetched
+ * by the scenarios.
+ */
+public class FakeStorageServer implements AutoCloseable {
+    private static final String OBJECT_PATH = "/storage/v1/object/";
+
+    private final HttpServer server;
+    private final Duration latency;
+    private final AtomicLong objects = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    private FakeStorageServer(HttpServer server, Duration latency) {
+        this.server = server;
+        this.latency = latency;
+    }
+
+    public static FakeStorageServer start(Duration latency) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        FakeStorageServer storage = new FakeStorageServer(server, latency);
+        server.createContext("/", storage::handle);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+        return storage;
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long objects() {
+        return objects.get();
+    }
+
+    public long bytes() {
+        return bytes.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange; InputStream body = exchange.getRequestBody()) {
+            String method = exchange.getRequestMethod();
+            if (!exchange.getRequestURI().getPath().startsWith(OBJECT_PATH)
+                    || !("PUT".equals(method) || "POST".equals(method))) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            long size = body.transferTo(OutputStream.nullOutputStream());
+            Thread.sleep(latency);
+            objects.incrementAndGet();
+            bytes.addAndGet(size);
+
+            String key = exchange.getRequestURI().getPath().substring(OBJECT_PATH.length());
+            byte[] response = ("{\"Key\":\"" + key + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,157 @@
+package sn.dev.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Response times per endpoint (method and route template, e.g. "GET /api/products/{id}"),
+ * recorded from the virtual users in HdrHistograms (microsecond resolution, 3 significant
+ * digits). Every response is timed; errors (transport failure or status >= 400) are also
+ * counted by status so a fast 503 does not hide in the percentiles.
+ * Responses of the gateway cache are recorded apart, e.g. "GET /api/products [HIT]" and
+ * "GET /api/products [MISS]": averaged together the hits would hide what a miss costs.
+ */
+public class LatencyRecorder {
+    private static final long HIGHEST_MICROS = Duration.ofMinutes(1).toNanos() / 1000;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * @param cacheStatus the X-Cache header (HIT or MISS), null when the response did not go
+     *                    through the gateway cache
+     */
+    public void record(String endpoint, long nanos, int status, String cacheStatus) {
+        String label = cacheStatus == null ? endpoint : endpoint + " [" + cacheStatus + "]";
+        Endpoint stats = endpoints.computeIfAbsent(label, key -> new Endpoint());
+        stats.recorder.recordValue(Math.min(Math.max(nanos / 1000, 1), HIGHEST_MICROS));
+        if (status == 0 || status >= 400) {
+            stats.errors.computeIfAbsent(status == 0 ? "io" : String.valueOf(status), key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Drops everything recorded so far, e.g. at the end of the warm-up
+     */
+    public void reset() {
+        endpoints.values().forEach(Endpoint::reset);
+    }
+
+    public Report report(Duration elapsed, LoadTestOptions options, Map<String, Object> context) {
+        double seconds = elapsed.toNanos() / 1e9;
+        List<EndpointReport> rows = new ArrayList<>();
+        Histogram total = new Histogram(HIGHEST_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Histogram histogram = entry.getValue().snapshot();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            Map<String, Long> errors = entry.getValue().errorCounts();
+            long errorCount = errors.values().stream().mapToLong(Long::longValue).sum();
+            totalErrors += errorCount;
+            rows.add(EndpointReport.of(entry.getKey(), histogram, errorCount, errors, seconds));
+        }
+        rows.sort(Comparator.comparing(EndpointReport::endpoint));
+        if (total.getTotalCount() > 0) {
+            rows.add(EndpointReport.of("TOTAL", total, totalErrors, Map.of(), seconds));
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("durationSeconds", options.duration().toSeconds());
+        settings.put("warmupSeconds", options.warmup().toSeconds());
+        settings.put("users", options.users());
+        settings.put("mix", options.mix());
+        settings.put("thinkTimeMillis", options.thinkTime().toMillis());
+        settings.put("storageLatencyMillis", options.storageLatency().toMillis());
+        settings.put("http2", options.http2());
+        settings.put("cache", options.cache());
+        settings.put("virtualThreads", options.virtualThreads());
+        settings.put("jvmOpts", options.jvmOpts());
+        settings.putAll(context);
+        return new Report(settings, Math.round(seconds * 10) / 10.0, rows);
+    }
+
+    public record EndpointReport(String endpoint, long requests, long errors, Map<String, Long> errorsByStatus,
+            double rps, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+
+        static EndpointReport of(String endpoint, Histogram histogram, long errors, Map<String, Long> errorsByStatus,
+                double seconds) {
+            return new EndpointReport(endpoint, histogram.getTotalCount(), errors, errorsByStatus,
+                    round(histogram.getTotalCount() / seconds),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return round(micros / 1000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 10) / 10.0;
+        }
+    }
+
+    public record Report(Map<String, Object> settings, double measuredSeconds, List<EndpointReport> endpoints) {
+
+        public void print() {
+            System.out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %9s%n",
+                    "Endpoint", "Requests", "Errors", "RPS", "p50 ms", "p90 ms", "p99 ms", "max ms");
+            for (EndpointReport row : endpoints) {
+                System.out.printf("%-40s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", row.endpoint(), row.requests(),
+                        row.errors(), row.rps(), row.p50Ms(), row.p90Ms(), row.p99Ms(), row.maxMs());
+                if (!row.errorsByStatus().isEmpty()) {
+                    System.out.println("    errors by status: " + row.errorsByStatus());
+                }
+            }
+            System.out.printf("Measured over %.1f s%n", measuredSeconds);
+        }
+
+        public void write(Path path) throws IOException {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+            System.out.println("Report written to " + path);
+        }
+    }
+
+    private static final class Endpoint {
+        private final Recorder recorder = new Recorder(HIGHEST_MICROS, 3);
+        private final Histogram accumulated = new Histogram(HIGHEST_MICROS, 3);
+        private final Map<String, LongAdder> errors = new ConcurrentSkipListMap<>();
+
+        synchronized Histogram snapshot() {
+            accumulated.add(recorder.getIntervalHistogram());
+            return accumulated.copy();
+        }
+
+        synchronized void reset() {
+            recorder.reset();
+            accumulated.reset();
+            errors.clear();
+        }
+
+        Map<String, Long> errorCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            errors.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package sn.dev.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import sn.dev.loadtest.LoadTestOptions.Scenario;
+
+/**
+ * Closed workload: a fixed number of virtual users, each on its own virtual thread, picking a
+ * scenario by weight, running it, pausing for the think time and starting over until the end
+ * of the phase. A slower system therefore gets fewer requests, the RPS measured is what it
+ * sustains at that concurrency.
+ */
+public class LoadDriver {
+    private final Scenarios scenarios;
+    private final int users;
+    private final Duration thinkTime;
+    private final List<Scenario> choices = new ArrayList<>();
+    private final int[] cumulativeWeights;
+
+    public LoadDriver(Scenarios scenarios, LoadTestOptions options) {
+        this.scenarios = scenarios;
+        this.users = options.users();
+        this.thinkTime = options.thinkTime();
+        this.cumulativeWeights = new int[options.mix().size()];
+        int total = 0;
+        for (Map.Entry<Scenario, Integer> entry : options.mix().entrySet()) {
+            total += entry.getValue();
+            cumulativeWeights[choices.size()] = total;
+            choices.add(entry.getKey());
+        }
+    }
+
+    /**
+     * Runs the virtual users for the given time and returns once they have all finished
+     * their last scenario
+     */
+    public Duration run(String phase, Duration duration) throws InterruptedException {
+        System.out.println(phase + ": " + users + " users for " + duration.toSeconds() + " s");
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            threads.add(Thread.ofVirtual().name("user-" + i).start(() -> user(end)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    private void user(long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            scenarios.run(pick(random));
+            if (!thinkTime.isZero()) {
+                try {
+                    Thread.sleep(thinkTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private Scenario pick(ThreadLocalRandom random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return choices.get(i);
+            }
+        }
+        throw new IllegalStateException("Weights out of range");
+    }
+}
@@ -0,0 +1,115 @@
+package sn.dev.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line of the load test, every option as --name=value:
+ * --duration=60s --warmup=20s --users=20 --mix=browse=80,login=15,create=5 --think-time=0ms
+ * --products=50 --images=2 --storage-latency=50ms --http2=false --cache=true --virtual-threads=false
+ * --jvm-opts="-Xmx384m"
+ * --project-dir=. --report=load-tests/target/load-test-report.json
+ */
+public record LoadTestOptions(
+        Duration duration,
+        Duration warmup,
+        int users,
+        Map<Scenario, Integer> mix,
+        Duration thinkTime,
+        int products,
+        int imagesPerProduct,
+        Duration storageLatency,
+        boolean http2,
+        boolean cache,
+        boolean virtualThreads,
+        String jvmOpts,
+        Path projectDir,
+        Path report) {
+
+    public enum Scenario {
+        BROWSE, LOGIN, CREATE
+    }
+
+    private static final Set<String> NAMES = Set.of("duration", "warmup", "users", "mix", "think-time",
+            "products", "images", "storage-latency", "http2", "cache", "virtual-threads", "jvm-opts", "project-dir", "report");
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (!NAMES.contains(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Unknown option " + arg.substring(0, separator));
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        Path projectDir = Path.of(values.getOrDefault("project-dir", defaultProjectDir())).toAbsolutePath().normalize();
+        LoadTestOptions options = new LoadTestOptions(
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("warmup", "20s")),
+                Integer.parseInt(values.getOrDefault("users", "20")),
+                mix(values.getOrDefault("mix", "browse=80,login=15,create=5")),
+                duration(values.getOrDefault("think-time", "0ms")),
+                Integer.parseInt(values.getOrDefault("products", "50")),
+                Integer.parseInt(values.getOrDefault("images", "2")),
+                duration(values.getOrDefault("storage-latency", "50ms")),
+                Boolean.parseBoolean(values.getOrDefault("http2", "false")),
+                Boolean.parseBoolean(values.getOrDefault("cache", "true")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                values.getOrDefault("jvm-opts", "-Xms128m -Xmx384m"),
+                projectDir,
+                Path.of(values.getOrDefault("report",
+                        projectDir.resolve("load-tests/target/load-test-report.json").toString())));
+        if (options.users() < 1 || options.products() < 1 || options.imagesPerProduct() < 1) {
+            throw new IllegalArgumentException("--users, --products and --images must be at least 1");
+        }
+        return options;
+    }
+
+    // Launched from the repository root or from load-tests/
+    private static String defaultProjectDir() {
+        return Files.isDirectory(Path.of("product-service")) ? "." : "..";
+    }
+
+    /**
+     * 500ms, 30s, 5m or an ISO-8601 duration
+     */
+    static Duration duration(String value) {
+        String lower = value.trim().toLowerCase();
+        if (lower.startsWith("p")) {
+            return Duration.parse(lower.toUpperCase());
+        }
+        if (lower.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(lower.substring(0, lower.length() - 2)));
+        }
+        if (lower.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(lower.substring(0, lower.length() - 1)));
+        }
+        if (lower.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(lower.substring(0, lower.length() - 1)));
+        }
+        throw new IllegalArgumentException("Invalid duration " + value);
+    }
+
+    static Map<Scenario, Integer> mix(String value) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.split("=");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Scenario.valueOf(pair[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix needs at least one scenario with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,54 @@
+package sn.dev.loadtest;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.ServerVersion;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+/**
+ * End-to-end load test: starts an in-memory Mongo and a storage stand-in in this JVM, the
+ * gateway and the three services as child processes, seeds users and products, then replays
+ * the browse / login / create mix through the gateway and reports RPS and p50/p90/p99 per endpoint.
+ * Usage: java -jar load-tests/target/load-tests.jar [--duration=60s --users=20 ...], see LoadTestOptions.
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        // The gateway certificate is self-signed and issued for its container name
+        System.setProperty("jdk.internal.httpclient.disableHostnameVerification", "true");
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        // The Java driver of the services refuses servers older than MongoDB 4.0
+        MongoServer mongo = new MongoServer(new MemoryBackend().version(ServerVersion.MONGO_5_0));
+        InetSocketAddress mongoAddress = mongo.bind();
+        System.out.println("In-memory Mongo on port " + mongoAddress.getPort());
+        try (FakeStorageServer storage = FakeStorageServer.start(options.storageLatency());
+                ServiceCluster cluster = ServiceCluster.start(options, mongoAddress.getPort(), storage.url())) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            Scenarios scenarios = new Scenarios(new GatewayClient(cluster.gatewayUrl(), options.http2(), recorder),
+                    options.imagesPerProduct());
+            scenarios.seed(options.products());
+
+            LoadDriver driver = new LoadDriver(scenarios, options);
+            if (!options.warmup().isZero()) {
+                driver.run("Warm-up", options.warmup());
+            }
+            recorder.reset();
+            long storedBefore = storage.objects();
+            Duration elapsed = driver.run("Measurement", options.duration());
+
+            Map<String, Object> context = new LinkedHashMap<>();
+            context.put("productsAtEnd", scenarios.productCount());
+            context.put("objectsStoredDuringMeasurement", storage.objects() - storedBefore);
+            LatencyRecorder.Report report = recorder.report(elapsed, options, context);
+            report.print();
+            report.write(options.report());
+        } finally {
+            mongo.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package sn.dev.loadtest;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
+import javax.imageio.ImageIO;
+
+import sn.dev.loadtest.GatewayClient.Response;
+import sn.dev.loadtest.GatewayClient.Upload;
+
+/**
+ * The three user journeys of the frontend, as steps against the gateway:
+ * browse (catalogue, a page, a search, a product-detail page), login (a client signs in) and
+ * create (a seller publishes a product with images). A seller and a client are registered and
+ * the catalogue is seeded before the measurement.
+ */
+public class Scenarios {
+    private static final List<String> MATERIALS = List.of("Leather", "Canvas", "Wooden", "Ceramic", "Woven",
+            "Silver", "Cotton", "Bamboo");
+    private static final List<String> ITEMS = List.of("wallet", "bag", "bowl", "lamp", "scarf", "basket",
+            "necklace", "chair", "mug", "clock");
+    private static final String PASSWORD = "load-test-password";
+    private static final int IMAGE_POOL = 8;
+    // Signature (8 bytes) and IHDR chunk (25 bytes)
+    private static final int PNG_HEADER_END = 33;
+
+    private final GatewayClient client;
+    private final int imagesPerProduct;
+    private final List<Upload> images = new ArrayList<>();
+    private final List<String> productIds = new CopyOnWriteArrayList<>();
+    private String sellerToken;
+    private String clientEmail;
+
+    public Scenarios(GatewayClient client, int imagesPerProduct) {
+        this.client = client;
+        this.imagesPerProduct = imagesPerProduct;
+        // Encoded once: the driver shares the CPU with the services under test
+        for (int i = 0; i < IMAGE_POOL; i++) {
+            images.add(new Upload("photo-" + i + ".png", "image/png", png(640, 480, i)));
+        }
+    }
+
+    /**
+     * Registers a seller and a client (unique per run) and creates the initial products
+     */
+    public void seed(int products) {
+        String run = UUID.randomUUID().toString().substring(0, 8);
+        String sellerEmail = "seller-" + run + "@load.test";
+        clientEmail = "client-" + run + "@load.test";
+        register("Load Seller", sellerEmail, "SELLER");
+        register("Load Client", clientEmail, "CLIENT");
+        sellerToken = login(sellerEmail);
+        if (sellerToken == null) {
+            throw new IllegalStateException("The seller could not log in, see the user-service log");
+        }
+
+        for (int i = 0; i < products; i++) {
+            Response response = create();
+            if (!response.ok()) {
+                throw new IllegalStateException("Seeding failed at product " + i + " (status " + response.status()
+                        + "): " + response.text());
+            }
+        }
+        System.out.println("Seeded " + productIds.size() + " products");
+    }
+
+    public void run(LoadTestOptions.Scenario scenario) {
+        switch (scenario) {
+            case BROWSE -> browse();
+            case LOGIN -> login(clientEmail);
+            case CREATE -> create();
+        }
+    }
+
+    public int productCount() {
+        return productIds.size();
+    }
+
+    private void browse() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        client.get("GET /api/products", "/api/products", null);
+        int pages = Math.max(1, (productIds.size() + 19) / 20);
+        client.get("GET /api/products/paged", "/api/products/paged?size=20&page=" + random.nextInt(pages), null);
+        client.get("GET /api/products/search", "/api/products/search?q=" + searchTerm(random), null);
+        client.get("GET /api/product-details/{id}",
+                "/api/product-details/" + productIds.get(random.nextInt(productIds.size())), null);
+    }
+
+    private String login(String email) {
+        Response response = client.postJson("POST /api/users/login", "/api/users/login",
+                Map.of("email", email, "password", PASSWORD), null);
+        if (!response.ok()) {
+            return null;
+        }
+        return response.json().path("token").textValue();
+    }
+
+    private Response create() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String material = MATERIALS.get(random.nextInt(MATERIALS.size()));
+        String item = ITEMS.get(random.nextInt(ITEMS.size()));
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("name", material + " " + item + " " + random.nextInt(1000));
+        fields.put("description", "Handmade " + item + " in " + material.toLowerCase() + ", shipped from Dakar");
+        fields.put("price", String.valueOf(5 + random.nextInt(300)));
+        fields.put("quantity", String.valueOf(1 + random.nextInt(20)));
+        List<Upload> files = new ArrayList<>();
+        for (int i = 0; i < imagesPerProduct; i++) {
+            files.add(unique(images.get(random.nextInt(images.size()))));
+        }
+
+        Response response = client.postMultipart("POST /api/products", "/api/products", fields, "images", files,
+                sellerToken);
+        if (response.ok()) {
+            productIds.add(response.json().path("id").textValue());
+        }
+        return response;
+    }
+
+    private void register(String name, String email, String role) {
+        Map<String, String> user = Map.of("name", name, "email", email, "password", PASSWORD, "role", role);
+        Response response = client.postJson("POST /api/users", "/api/users", user, null);
+        if (!response.ok()) {
+            throw new IllegalStateException("Could not register " + email + " (status " + response.status() + "): "
+                    + response.text());
+        }
+    }
+
+    // A whole word or, as the search box sends while typing, the first letters of one
+    private static String searchTerm(ThreadLocalRandom random) {
+        String word = random.nextBoolean()
+                ? ITEMS.get(random.nextInt(ITEMS.size()))
+                : MATERIALS.get(random.nextInt(MATERIALS.size())).toLowerCase();
+        String term = random.nextInt(4) == 0 ? word.substring(0, 3) : word;
+        return URLEncoder.encode(term, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The image with a unique tEXt chunk after the header: media-service stores identical
+     * content once (by hash), a new photo of a seller has to reach the storage
+     */
+    private static Upload unique(Upload image) {
+        byte[] type = "tEXt".getBytes(StandardCharsets.US_ASCII);
+        byte[] text = ("Comment\0" + UUID.randomUUID()).getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(text);
+
+        ByteBuffer png = ByteBuffer.allocate(image.content().length + 12 + text.length);
+        png.put(image.content(), 0, PNG_HEADER_END)
+                .putInt(text.length).put(type).put(text).putInt((int) crc.getValue())
+                .put(image.content(), PNG_HEADER_END, image.content().length - PNG_HEADER_END);
+        return new Upload(image.fileName(), image.contentType(), png.array());
+    }
+
+    // A photo-like PNG: gradient and noise, so it compresses like a real picture and not to a few bytes
+    private static byte[] png(int width, int height, int seed) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.getHSBColor(seed / (float) IMAGE_POOL, 0.6f, 0.9f),
+                width, height, Color.DARK_GRAY));
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        Random random = new Random(seed);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(24);
+                int rgb = image.getRGB(x, y);
+                int r = Math.min(255, ((rgb >> 16) & 0xff) + noise);
+                int g = Math.min(255, ((rgb >> 8) & 0xff) + noise);
+                int b = Math.min(255, (rgb & 0xff) + noise);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
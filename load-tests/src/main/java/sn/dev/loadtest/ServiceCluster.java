@@ -0,0 +1,200 @@
+package sn.dev.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The gateway and the three services, started from their packaged jars as child processes,
+ * wired to each other with fixed instance lists (no Eureka, no config server), to the in-memory
+ * Mongo and to the storage stand-in. Each process logs to load-tests/target/load-test-logs.
+ */
+public class ServiceCluster implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(5);
+    private static final List<String> SERVICES = List.of("user-service", "product-service", "media-service");
+    private static final Map<String, String> ROUTES = Map.of(
+            "user-service", "/api/users/**",
+            "product-service", "/api/products/**",
+            "media-service", "/api/media/**");
+    // Shared by the gateway (signs the X-Auth-* headers) and the services (trust them)
+    private static final String INTERNAL_AUTH_SECRET = "load-test-internal-secret";
+
+    private final Map<String, Process> processes = new LinkedHashMap<>();
+    private final Map<String, Integer> ports = new LinkedHashMap<>();
+
+    private ServiceCluster() {
+    }
+
+    public static ServiceCluster start(LoadTestOptions options, int mongoPort, String storageUrl)
+            throws IOException, InterruptedException {
+        ServiceCluster cluster = new ServiceCluster();
+        Runtime.getRuntime().addShutdownHook(new Thread(cluster::close));
+        try {
+            cluster.launchAll(options, mongoPort, storageUrl);
+            return cluster;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            cluster.close();
+            throw e;
+        }
+    }
+
+    public String gatewayUrl() {
+        return "https://localhost:" + ports.get("api-gateway");
+    }
+
+    private void launchAll(LoadTestOptions options, int mongoPort, String storageUrl)
+            throws IOException, InterruptedException {
+        for (String service : SERVICES) {
+            ports.put(service, freePort());
+        }
+        ports.put("api-gateway", freePort());
+
+        Path work = options.projectDir().resolve("load-tests/target");
+        Path logs = Files.createDirectories(work.resolve("load-test-logs"));
+        List<String> discovery = new ArrayList<>();
+        for (String service : SERVICES) {
+            discovery.add("--spring.cloud.discovery.client.simple.instances." + service + "[0].uri=http://localhost:"
+                    + ports.get(service));
+        }
+
+        for (String service : SERVICES) {
+            List<String> args = new ArrayList<>(discovery);
+            Map<String, String> env = new LinkedHashMap<>();
+            args.add("--spring.data.mongodb.uri=mongodb://localhost:" + mongoPort + "/" + database(service));
+            args.add("--spring.data.mongodb.database=" + database(service));
+            // The in-memory Mongo has neither the explain command nor the hello command of the health check
+            args.add("--mongo.indexes.verify-query-plans=false");
+            args.add("--management.health.mongo.enabled=false");
+            // Tomcat's platform pool (200 threads) or one virtual thread per request
+            args.add("--spring.threads.virtual.enabled=" + options.virtualThreads());
+            if (service.equals("user-service")) {
+                // Set by the config server in the deployments: the repository endpoints under /api/users
+                args.add("--spring.data.rest.base-path=/api");
+            }
+            if (service.equals("product-service")) {
+                // The media client uses a fixed URL, not the discovery
+                args.add("--media.service.url=http://localhost:" + ports.get("media-service") + "/api/media");
+                if (!options.cache()) {
+                    env.put("PRODUCT_CACHE_TYPE", "none");
+                }
+            }
+            if (service.equals("media-service")) {
+                args.add("--media.storage.type=supabase");
+                args.add("--supabase.project-url=" + storageUrl);
+                args.add("--supabase.api-key=load-test");
+                args.add("--media.upload.queue.spool-dir=" + work.resolve("media-spool"));
+                args.add("--spring.servlet.multipart.location=" + Files.createDirectories(work.resolve("multipart")));
+            }
+            launch(options, service, args, env, logs);
+        }
+
+        List<String> gateway = new ArrayList<>(discovery);
+        int route = 0;
+        for (Map.Entry<String, String> entry : ROUTES.entrySet()) {
+            String prefix = "--spring.cloud.gateway.server.webflux.routes[" + route++ + "].";
+            gateway.add(prefix + "id=" + entry.getKey());
+            gateway.add(prefix + "uri=lb://" + entry.getKey());
+            gateway.add(prefix + "predicates[0]=Path=" + entry.getValue());
+        }
+        // Every virtual user comes from 127.0.0.1: one bucket would throttle the whole test
+        gateway.add("--gateway.rate-limit.enabled=false");
+        if (!options.cache()) {
+            gateway.add("--gateway.cache.enabled=false");
+        }
+        launch(options, "api-gateway", gateway, Map.of(), logs);
+
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        for (Map.Entry<String, Integer> entry : ports.entrySet()) {
+            String scheme = entry.getKey().equals("api-gateway") ? "https" : "http";
+            awaitHealthy(entry.getKey(), URI.create(scheme + "://localhost:" + entry.getValue() + "/actuator/health"),
+                    deadline, logs);
+        }
+    }
+
+    private void launch(LoadTestOptions options, String service, List<String> args, Map<String, String> env,
+            Path logs) throws IOException {
+        Path jar = options.projectDir().resolve(service + "/target/" + service + "-0.0.1-SNAPSHOT.jar");
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(jar + " not found, package it first: mvn -f " + service
+                    + "/pom.xml package -DskipTests");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.stream(options.jvmOpts().split("\\s+")).filter(opt -> !opt.isBlank()).toList());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--spring.cloud.config.enabled=false");
+        command.add("--eureka.client.enabled=false");
+        command.addAll(args);
+
+        ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logs.resolve(service + ".log").toFile());
+        builder.environment().put("PORT", String.valueOf(ports.get(service)));
+        builder.environment().put("INTERNAL_AUTH_SECRET", INTERNAL_AUTH_SECRET);
+        builder.environment().putAll(env);
+        processes.put(service, builder.start());
+        System.out.println("Started " + service + " on port " + ports.get(service));
+    }
+
+    private void awaitHealthy(String service, URI health, Instant deadline, Path logs) throws InterruptedException {
+        HttpClient client = TrustAllHttpClients.create(HttpClient.Version.HTTP_1_1);
+        HttpRequest request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(5)).build();
+        while (Instant.now().isBefore(deadline)) {
+            if (!processes.get(service).isAlive()) {
+                throw new IllegalStateException(service + " exited during startup, see " + logs.resolve(service + ".log"));
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    System.out.println(service + " is up");
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException(service + " not healthy after " + STARTUP_TIMEOUT.toMinutes()
+                + " minutes, see " + logs.resolve(service + ".log"));
+    }
+
+    private static String database(String service) {
+        return service.substring(0, service.indexOf('-')) + "db";
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        processes.values().forEach(Process::destroy);
+        for (Process process : processes.values()) {
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+}
@@ -2,10 +2,14 @@ package sn.dev.media_service;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 
+import sn.dev.media_service.configs.StorageHttpClientProperties;
+
 @SpringBootApplication
 @EnableDiscoveryClient
+@EnableConfigurationProperties(StorageHttpClientProperties.class)
 public class MediaServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,34 @@
+package sn.dev.media_service.configs;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the image variant generation. Resizing is CPU and memory bound (a decoded
+ * image is held in memory), so the pool is bounded and the queue too: when it is full the
+ * variants are simply not generated and the original image keeps being served.
+ */
+@Configuration
+@EnableAsync
+public class MediaVariantConfig {
+
+    @Bean
+    public Executor mediaVariantExecutor(
+            @Value("${media.variants.threads:2}") int threads,
+            @Value("${media.variants.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("media-variant-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,61 @@
+package sn.dev.media_service.configs;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.entities.UploadJob;
+
+/**
+ * Creates the indexes declared on the documents (@Indexed, @CompoundIndex) once the
+ * application is up, then checks that every derived query uses one (see {@link QueryPlanVerifier}).
+ * Done in the background so a database that is not reachable yet does not block or fail the startup.
+ */
+@Configuration
+public class MongoIndexConfig {
+    private static final List<Class<?>> DOCUMENTS = List.of(Media.class, UploadJob.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryPlanVerifier queryPlanVerifier;
+    private final boolean verifyQueryPlans;
+
+    public MongoIndexConfig(MongoTemplate mongoTemplate, QueryPlanVerifier queryPlanVerifier,
+            @Value("${mongo.indexes.verify-query-plans:true}") boolean verifyQueryPlans) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryPlanVerifier = queryPlanVerifier;
+        this.verifyQueryPlans = verifyQueryPlans;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIndexes() {
+        Thread.ofVirtual().name("mongo-index-init").start(() -> {
+            try {
+                ensureIndexes();
+                if (verifyQueryPlans) {
+                    List<String> collectionScans = queryPlanVerifier.findCollectionScans();
+                    if (!collectionScans.isEmpty()) {
+                        System.out.println("WARNING: queries without index (COLLSCAN): " + collectionScans);
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Could not create or verify indexes: " + e.getMessage());
+            }
+        });
+    }
+
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            resolver.resolveIndexFor(document).forEach(indexOps::createIndex);
+        }
+    }
+}
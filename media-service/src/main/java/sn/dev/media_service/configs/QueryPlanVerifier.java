@@ -0,0 +1,107 @@
+package sn.dev.media_service.configs;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+/**
+ * Asks Mongo for the plan (explain) of every derived repository query (findBy..., deleteBy...)
+ * and reports those it would answer with a collection scan, i.e. a missing index.
+ * Methods without criteria would read the whole collection on purpose and are not checked.
+ */
+@Component
+public class QueryPlanVerifier {
+    // Any value works, the plan depends on the fields; this one is also a valid ObjectId
+    private static final String SAMPLE_VALUE = "000000000000000000000000";
+
+    private final MongoTemplate mongoTemplate;
+    private final ListableBeanFactory beanFactory;
+    private final QueryMapper queryMapper;
+
+    public QueryPlanVerifier(MongoTemplate mongoTemplate, ListableBeanFactory beanFactory) {
+        this.mongoTemplate = mongoTemplate;
+        this.beanFactory = beanFactory;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    }
+
+    /**
+     * @return the derived queries ("Repository.method") planned as a COLLSCAN, empty when they all use an index
+     */
+    public List<String> findCollectionScans() {
+        Repositories repositories = new Repositories(beanFactory);
+        List<String> collectionScans = new ArrayList<>();
+        for (Class<?> domainClass : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainClass);
+            MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                    .getRequiredPersistentEntity(domainClass);
+            for (Method method : information.getQueryMethods()) {
+                if (method.isAnnotationPresent(org.springframework.data.mongodb.repository.Query.class)) {
+                    continue;
+                }
+                PartTree tree = new PartTree(method.getName(), domainClass);
+                if (tree.getParts().isEmpty()) {
+                    continue;
+                }
+                if (isCollectionScan(explain(entity, tree))) {
+                    collectionScans.add(information.getRepositoryInterface().getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+        return collectionScans;
+    }
+
+    /**
+     * True when a COLLSCAN stage appears anywhere in the winning plan, whatever its shape
+     * (classic query planner or slot-based engine)
+     */
+    public static boolean isCollectionScan(Object plan) {
+        if (plan instanceof Document stage) {
+            return "COLLSCAN".equals(stage.get("stage"))
+                    || stage.values().stream().anyMatch(QueryPlanVerifier::isCollectionScan);
+        }
+        if (plan instanceof List<?> stages) {
+            return stages.stream().anyMatch(QueryPlanVerifier::isCollectionScan);
+        }
+        return false;
+    }
+
+    private Document explain(MongoPersistentEntity<?> entity, PartTree tree) {
+        if (tree.getSort().isSorted() || tree.stream().count() > 1) {
+            throw new IllegalStateException(tree + ": OrderBy and Or are not handled, extend QueryPlanVerifier");
+        }
+        Criteria criteria = new Criteria().andOperator(tree.getParts().stream().map(QueryPlanVerifier::criteria).toList());
+        Document find = new Document("find", entity.getCollection())
+                .append("filter", queryMapper.getMappedObject(new Query(criteria).getQueryObject(), entity));
+        Document explained = mongoTemplate.getDb()
+                .runCommand(new Document("explain", find).append("verbosity", "queryPlanner"));
+        return explained.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+    }
+
+    // Only what MediaRepo derives (equality, In, NotIn, NotNull) on string ids and the status enum;
+    // a new kind of condition fails the check instead of being explained as something else
+    private static Criteria criteria(Part part) {
+        Criteria where = Criteria.where(part.getProperty().toDotPath());
+        Class<?> type = part.getProperty().getLeafType();
+        Object value = type.isEnum() ? ((Enum<?>) type.getEnumConstants()[0]).name() : SAMPLE_VALUE;
+        return switch (part.getType()) {
+            case SIMPLE_PROPERTY -> where.is(value);
+            case IN -> where.in(value);
+            case NOT_IN -> where.nin(value);
+            case IS_NOT_NULL -> where.ne(null);
+            default -> throw new IllegalStateException(part + ": " + part.getType() + " is not handled, extend QueryPlanVerifier");
+        };
+    }
+}
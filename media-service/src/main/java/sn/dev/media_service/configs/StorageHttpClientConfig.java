@@ -0,0 +1,71 @@
+package sn.dev.media_service.configs;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Pooled HTTP client for the storage uploads: connections (and their TLS sessions)
+ * are kept alive and reused between uploads instead of being opened for every file.
+ */
+@Configuration
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "supabase", matchIfMissing = true)
+public class StorageHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager storageConnectionManager(StorageHttpClientProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.maxConnections())
+                .setMaxConnPerRoute(properties.maxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(properties.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(properties.readTimeout()))
+                        .setTimeToLive(TimeValue.of(properties.timeToLive()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient storageHttpClient(PoolingHttpClientConnectionManager storageConnectionManager,
+            StorageHttpClientProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(storageConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.connectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.readTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(properties.idleTimeout()))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate storageRestTemplate(RestTemplateBuilder restTemplateBuilder,
+            CloseableHttpClient storageHttpClient) {
+        // Built from the Boot builder so the calls are observed (http.client.requests metrics)
+        return restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(storageHttpClient))
+                .build();
+    }
+
+    @Bean
+    public MeterBinder storageConnectionPoolMetrics(PoolingHttpClientConnectionManager storageConnectionManager) {
+        // httpcomponents.httpclient.pool.* gauges (leased, available, pending connections)
+        return new PoolingHttpClientConnectionManagerMetricsBinder(storageConnectionManager, "supabase-storage");
+    }
+}
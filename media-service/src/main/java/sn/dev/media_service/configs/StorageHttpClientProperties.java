@@ -0,0 +1,20 @@
+package sn.dev.media_service.configs;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Connection pool and timeouts of the HTTP client used to talk to the storage (Supabase).
+ */
+@ConfigurationProperties(prefix = "supabase.http")
+public record StorageHttpClientProperties(
+        @DefaultValue("50") int maxConnections,
+        @DefaultValue("20") int maxConnectionsPerRoute,
+        @DefaultValue("5s") Duration connectTimeout,
+        @DefaultValue("30s") Duration readTimeout,
+        @DefaultValue("10s") Duration connectionRequestTimeout,
+        @DefaultValue("30s") Duration idleTimeout,
+        @DefaultValue("5m") Duration timeToLive) {
+}
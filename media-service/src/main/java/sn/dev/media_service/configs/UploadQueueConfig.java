@@ -0,0 +1,32 @@
+package sn.dev.media_service.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Workers of the asynchronous upload queue. Both the pool and its queue are bounded: once
+ * the queue is full new asynchronous uploads are refused (503) instead of piling up.
+ * Scheduling runs the sweep of stalled uploads.
+ */
+@Configuration
+@EnableScheduling
+public class UploadQueueConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor uploadJobExecutor(
+            @Value("${media.upload.queue.workers:4}") int workers,
+            @Value("${media.upload.queue.capacity:200}") int capacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(capacity);
+        executor.setThreadNamePrefix("upload-job-");
+        // Jobs still queued at shutdown stay in Mongo and are resumed on the next start
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
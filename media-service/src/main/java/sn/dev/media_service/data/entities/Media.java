@@ -1,15 +1,50 @@
 package sn.dev.media_service.data.entities;
 
+import java.util.Map;
+
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.Data;
 
 @Data
 @Document(collection = "media")
+@CompoundIndexes({
+        // One media per content and product, older documents without hash are left out of the constraint
+        @CompoundIndex(name = "product_hash_idx", def = "{'productId': 1, 'hash': 1}", unique = true,
+                partialFilter = "{ 'hash': { '$exists': true } }"),
+        // findByProductId*/findByProductIdIn*/deleteByProductId, which the partial index above cannot serve
+        @CompoundIndex(name = "product_id_idx", def = "{'productId': 1, '_id': 1}")
+})
 public class Media {
     @Id
     private String id;
     private String imageUrl;
     private String productId;
+    /**
+     * SHA-256 of the file content (hex), used to reuse an already stored object
+     */
+    @Indexed
+    private String hash;
+    /**
+     * Resized copies of the image, keyed by width in pixels (e.g. "200" -> url).
+     * Filled asynchronously after the upload, absent until they are generated.
+     */
+    private Map<String, String> variants;
+    /**
+     * PENDING while an asynchronous upload is in progress, null on documents created before
+     * the upload queue (they are all stored)
+     */
+    @Indexed
+    private MediaStatus status;
+    /**
+     * Not stored: true in an upload response when that request attached the image to the
+     * product, false when the product already had it (a caller rolling back must keep it)
+     */
+    @Transient
+    private boolean created;
 }
@@ -0,0 +1,10 @@
+package sn.dev.media_service.data.entities;
+
+public enum MediaStatus {
+    /** Accepted, the file is still being transferred to the storage */
+    PENDING,
+    /** Stored, imageUrl is set */
+    READY,
+    /** The transfer failed, the media has no image */
+    FAILED
+}
@@ -0,0 +1,30 @@
+package sn.dev.media_service.data.entities;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.Data;
+
+/**
+ * A pending transfer of a spooled upload to the storage. The document lives as long as the
+ * transfer is not done, so jobs interrupted by a restart can be picked up again.
+ */
+@Data
+@Document(collection = "upload_jobs")
+public class UploadJob {
+    @Id
+    private String id;
+    private String mediaId;
+    /**
+     * Local copy of the upload, on this instance's spool directory
+     */
+    private String spoolPath;
+    private String originalFileName;
+    private String contentType;
+    /**
+     * Jobs older than media.upload.queue.job-timeout are given up
+     */
+    private Instant createdAt;
+}
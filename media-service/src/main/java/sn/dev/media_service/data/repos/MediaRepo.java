@@ -1,14 +1,23 @@
 package sn.dev.media_service.data.repos;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.entities.MediaStatus;
 
 @Repository
 public interface MediaRepo extends MongoRepository<Media, String> {
-    List<Media> findByProductId(String productId);
+    // The product reads skip media without an image yet (PENDING) or for good (FAILED)
+    List<Media> findByProductIdAndStatusNotIn(String productId, Collection<MediaStatus> statuses);
+    List<Media> findByProductIdInAndStatusNotIn(Collection<String> productIds, Collection<MediaStatus> statuses);
     void deleteByProductId(String productId);
+    // Swept for uploads that can no longer complete
+    List<Media> findByStatus(MediaStatus status);
+    Optional<Media> findFirstByHashAndImageUrlNotNull(String hash);
+    Optional<Media> findFirstByProductIdAndHash(String productId, String hash);
 }
@@ -0,0 +1,10 @@
+package sn.dev.media_service.data.repos;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import sn.dev.media_service.data.entities.UploadJob;
+
+@Repository
+public interface UploadJobRepo extends MongoRepository<UploadJob, String> {
+}
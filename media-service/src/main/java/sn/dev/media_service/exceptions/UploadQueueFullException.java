@@ -0,0 +1,17 @@
+package sn.dev.media_service.exceptions;
+
+/**
+ * The asynchronous upload queue is full, the client should retry later
+ */
+public class UploadQueueFullException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public UploadQueueFullException(long retryAfterSeconds) {
+        super("Upload queue is full, retry later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,8 +1,16 @@
 package sn.dev.media_service.services;
 
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface CloudStorageService {
 
-    String upload(MultipartFile file);
+    default String upload(MultipartFile file) {
+        return upload(file.getResource(), file.getOriginalFilename(), file.getContentType());
+    }
+
+    /**
+     * Uploads content that does not come from a request (e.g. a generated image variant)
+     */
+    String upload(Resource content, String fileName, String contentType);
 }
@@ -0,0 +1,13 @@
+package sn.dev.media_service.services;
+
+import java.nio.file.Path;
+
+public interface ImageVariantService {
+
+    /**
+     * Generates the resized variants of the image stored in {@code source}, uploads them and
+     * records their URLs on the media. Runs in the background; {@code source} is a temporary
+     * copy owned by this call and deleted once done.
+     */
+    void generateVariants(String mediaId, Path source, String originalFileName);
+}
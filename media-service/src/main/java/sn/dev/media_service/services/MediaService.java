@@ -1,6 +1,8 @@
 package sn.dev.media_service.services;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.web.multipart.MultipartFile;
 
@@ -9,10 +11,22 @@ import sn.dev.media_service.data.entities.Media;
 public interface MediaService {
     Media uploadAndSave(MultipartFile media, String productId);
 
+    /**
+     * Returns as soon as the file is queued, with a PENDING media that becomes READY
+     * once the transfer to the storage is done
+     */
+    Media uploadAndSaveAsync(MultipartFile media, String productId);
+
     String uploadImage(MultipartFile media);
 
+    /**
+     * The media of a product that have an image: those still uploading or whose upload
+     * failed are left out (GET /api/media/{id} still reports their status)
+     */
     List<Media> findByProductId(String productId);
 
+    Map<String, List<Media>> findByProductIds(Collection<String> productIds);
+
     Media findById(String id);
 
     void deleteById(String id);
@@ -0,0 +1,19 @@
+package sn.dev.media_service.services;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import sn.dev.media_service.data.entities.Media;
+
+public interface UploadQueueService {
+
+    /**
+     * Fails fast with {@link sn.dev.media_service.exceptions.UploadQueueFullException} when no more job can be accepted
+     */
+    void ensureCapacity();
+
+    /**
+     * Spools the file, records the job and queues the transfer of a PENDING media.
+     * The media becomes READY (or FAILED) once a worker is done with it.
+     */
+    void submit(Media media, MultipartFile file);
+}
@@ -3,7 +3,10 @@ package sn.dev.media_service.services.impl;
 import java.util.UUID;
 
 import lombok.Setter;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -11,11 +14,11 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.multipart.MultipartFile;
 
 import sn.dev.media_service.services.CloudStorageService;
 
 @Service
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "supabase", matchIfMissing = true)
 public class CloudStorageServiceImpl implements CloudStorageService {
 
     @Value("${supabase.project-url}")
@@ -27,19 +30,22 @@ public class CloudStorageServiceImpl implements CloudStorageService {
     @Value("${supabase.bucket-name}")
     public String bucketName;
 
-    public RestTemplate restTemplate = new RestTemplate();
+    public RestTemplate restTemplate;
+
+    public CloudStorageServiceImpl(@Qualifier("storageRestTemplate") RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
 
     @Override
-    public String upload(MultipartFile file) {
+    public String upload(Resource content, String originalFileName, String contentType) {
         try {
             // Generate a unique file name using UUID and the sanitized original file name
-            String sanitizedFileName = sanitizeFileName(file.getOriginalFilename());
+            String sanitizedFileName = sanitizeFileName(originalFileName);
             String fileName = UUID.randomUUID() + "_" + sanitizedFileName;
 
             // Create headers with the API key and content type
             HttpHeaders headers = new HttpHeaders();
             headers.setBearerAuth(apiKey);
-            String contentType = file.getContentType();
             if (contentType == null) {
                 throw new IllegalArgumentException("Missing content type on uploaded file");
             }
@@ -48,8 +54,10 @@ public class CloudStorageServiceImpl implements CloudStorageService {
             // Construct the upload URL
             String uploadUrl = String.format("%s/storage/v1/object/%s/%s", projectUrl, bucketName, fileName);
 
-            // Create the request entity with the file bytes and headers
-            HttpEntity<byte[]> requestEntity = new HttpEntity<>(file.getBytes(), headers);
+            // Stream the file from the multipart temp file instead of copying it in memory,
+            // the known length lets the request go out with a fixed Content-Length
+            headers.setContentLength(content.contentLength());
+            HttpEntity<Resource> requestEntity = new HttpEntity<>(content, headers);
 
             // Send the PUT request to upload the file
             ResponseEntity<String> response = restTemplate.exchange(
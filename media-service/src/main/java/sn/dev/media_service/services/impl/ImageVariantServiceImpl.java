@@ -0,0 +1,176 @@
+package sn.dev.media_service.services.impl;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import sn.dev.media_service.data.repos.MediaRepo;
+import sn.dev.media_service.services.CloudStorageService;
+import sn.dev.media_service.services.ImageVariantService;
+
+/**
+ * Produces downsized copies of the uploaded images (one per configured width) so listings
+ * can load a thumbnail instead of the full-size original.
+ * Opaque images are encoded as JPEG, images with transparency as PNG.
+ */
+@Service
+public class ImageVariantServiceImpl implements ImageVariantService {
+    private final MediaRepo mediaRepo;
+    private final CloudStorageService cloudStorageService;
+    private final int[] widths;
+    private final float jpegQuality;
+
+    public ImageVariantServiceImpl(MediaRepo mediaRepo, CloudStorageService cloudStorageService,
+            @Value("${media.variants.widths:200,600,1200}") int[] widths,
+            @Value("${media.variants.jpeg-quality:0.8}") float jpegQuality) {
+        this.mediaRepo = mediaRepo;
+        this.cloudStorageService = cloudStorageService;
+        this.widths = Arrays.stream(widths).sorted().toArray();
+        this.jpegQuality = jpegQuality;
+    }
+
+    @Override
+    @Async("mediaVariantExecutor")
+    public void generateVariants(String mediaId, Path source, String originalFileName) {
+        try {
+            Map<String, String> variants = createVariants(source, originalFileName);
+            if (variants.isEmpty()) {
+                return;
+            }
+            // The media may have been deleted meanwhile, nothing to record then
+            mediaRepo.findById(mediaId).ifPresent(media -> {
+                media.setVariants(variants);
+                mediaRepo.save(media);
+            });
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Could not generate variants for media " + mediaId + ": " + e.getMessage());
+        } finally {
+            deleteQuietly(source);
+        }
+    }
+
+    /**
+     * Resizes and uploads the image for every configured width smaller than the original.
+     * Returns an empty map when the format cannot be decoded (e.g. WebP, no reader in the JDK).
+     */
+    private Map<String, String> createVariants(Path source, String originalFileName) throws IOException {
+        Map<String, String> variants = new LinkedHashMap<>();
+        BufferedImage image = read(source, widths[widths.length - 1]);
+        if (image == null) {
+            return variants;
+        }
+
+        boolean alpha = image.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpeg";
+        String baseName = baseName(originalFileName);
+        for (int width : widths) {
+            if (width >= image.getWidth()) {
+                // Never upscale, the original is already small enough
+                break;
+            }
+            BufferedImage resized = resize(image, width, alpha);
+            Path target = Files.createTempFile("variant-", "." + format);
+            try {
+                write(resized, format, target);
+                String fileName = baseName + "_" + width + "w." + (alpha ? "png" : "jpg");
+                String url = cloudStorageService.upload(new FileSystemResource(target), fileName, "image/" + format);
+                variants.put(String.valueOf(width), url);
+            } finally {
+                deleteQuietly(target);
+            }
+        }
+        return variants;
+    }
+
+    /**
+     * Decodes the image, subsampled while reading when it is much larger than the biggest
+     * variant so a large photo is never fully decoded in memory.
+     */
+    private static BufferedImage read(Path source, int maxWidth) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, reader.getWidth(0) / maxWidth);
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width, boolean alpha) {
+        int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+        BufferedImage resized = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static String baseName(String originalFileName) {
+        if (originalFileName == null || originalFileName.isBlank()) {
+            return "image";
+        }
+        int lastDotIndex = originalFileName.lastIndexOf('.');
+        return lastDotIndex > 0 ? originalFileName.substring(0, lastDotIndex) : originalFileName;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Temp file, removed with the temp directory otherwise
+        }
+    }
+}
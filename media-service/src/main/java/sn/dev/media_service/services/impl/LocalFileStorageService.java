@@ -0,0 +1,136 @@
+package sn.dev.media_service.services.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import sn.dev.media_service.services.CloudStorageService;
+
+/**
+ * Stores the files on the local disk (media.storage.type=local), without any external hop.
+ * Files are content-addressed: the key is the SHA-256 of the content, sharded on two
+ * directory levels (ab/cd/abcd...ef.png) so no directory grows too large.
+ */
+@Service
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "local")
+public class LocalFileStorageService implements CloudStorageService {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("^[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}(\\.[a-z0-9]{1,5})?$");
+    private static final Pattern EXTENSION_PATTERN = Pattern.compile("^\\.[a-z0-9]{1,5}$");
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+
+    private final Path root;
+    private final String publicUrl;
+
+    public LocalFileStorageService(@Value("${media.storage.path}") String storagePath,
+            @Value("${media.storage.public-url:http://localhost:8083/api/media/files}") String publicUrl) {
+        this.root = Path.of(storagePath).toAbsolutePath().normalize();
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+    }
+
+    @Override
+    public String upload(Resource content, String originalFileName, String contentType) {
+        Path temp = null;
+        try {
+            Files.createDirectories(root);
+            temp = Files.createTempFile(root, "upload-", ".tmp");
+
+            // Hash while copying, the file is read only once
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream inputStream = new DigestInputStream(content.getInputStream(), digest);
+                    ReadableByteChannel source = Channels.newChannel(inputStream);
+                    FileChannel target = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long position = 0;
+                long transferred;
+                while ((transferred = target.transferFrom(source, position, TRANSFER_CHUNK)) > 0) {
+                    position += transferred;
+                }
+            }
+
+            String key = toKey(HexFormat.of().formatHex(digest.digest()), originalFileName);
+            Path target = root.resolve(key);
+            Files.createDirectories(target.getParent());
+            if (Files.exists(target)) {
+                // Same content already stored
+                Files.delete(temp);
+            } else {
+                moveIntoPlace(temp, target);
+            }
+
+            return publicUrl + "/" + key;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            deleteQuietly(temp);
+            throw new RuntimeException("Failed to store file on local storage", e);
+        }
+    }
+
+    /**
+     * Resolves a key returned by {@link #upload(Resource, String, String)} to its file.
+     */
+    public Path resolve(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+        }
+        Path path = root.resolve(key);
+        if (!Files.isRegularFile(path)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+        }
+        return path;
+    }
+
+    private static String toKey(String hash, String originalFileName) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + extensionOf(originalFileName);
+    }
+
+    private static String extensionOf(String originalFileName) {
+        if (originalFileName == null) {
+            return "";
+        }
+        int lastDotIndex = originalFileName.lastIndexOf('.');
+        if (lastDotIndex < 0) {
+            return "";
+        }
+        String extension = originalFileName.substring(lastDotIndex).toLowerCase(Locale.ROOT);
+        return EXTENSION_PATTERN.matcher(extension).matches() ? extension : "";
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Stored concurrently by another upload of the same content
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Best effort, the temp file is in the storage root and can be cleaned up later
+        }
+    }
+}
@@ -1,29 +1,59 @@
 package sn.dev.media_service.services.impl;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.entities.MediaStatus;
 import sn.dev.media_service.data.repos.MediaRepo;
 import sn.dev.media_service.services.CloudStorageService;
+import sn.dev.media_service.services.ImageVariantService;
 import sn.dev.media_service.services.MediaService;
+import sn.dev.media_service.services.UploadQueueService;
 
 @Service
 public class MediaServiceImpl implements MediaService {
     private final MediaRepo mediaRepo;
     private final CloudStorageService cloudStorageService;
+    private final ImageVariantService imageVariantService;
+    private final UploadQueueService uploadQueueService;
     
     // File size limit: 5MB
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024;
 
-    public MediaServiceImpl(MediaRepo mediaRepo, CloudStorageService cloudStorageService) {
+    // Longest signature we check (WebP: RIFF....WEBP)
+    private static final int SIGNATURE_LENGTH = 12;
+
+    private static final int HASH_BUFFER_SIZE = 8192;
+
+    // Not listed with the product: still uploading, or the upload failed
+    private static final Set<MediaStatus> WITHOUT_IMAGE = EnumSet.of(MediaStatus.PENDING, MediaStatus.FAILED);
+
+    public MediaServiceImpl(MediaRepo mediaRepo, CloudStorageService cloudStorageService,
+            ImageVariantService imageVariantService, UploadQueueService uploadQueueService) {
         this.mediaRepo = mediaRepo;
         this.cloudStorageService = cloudStorageService;
+        this.imageVariantService = imageVariantService;
+        this.uploadQueueService = uploadQueueService;
     }
 
     @Override
@@ -31,15 +61,79 @@ public class MediaServiceImpl implements MediaService {
         // 1. Validate file
         validateFile(file);
 
-        // 2. Upload file to cloud (e.g., Cloudinary, S3)
-        String imageUrl = cloudStorageService.upload(file);
+        // 2. Same image already attached to this product: nothing to do
+        String hash = contentHash(file);
+        Optional<Media> existing = findAttached(productId, hash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        // 3. Upload file to cloud, unless the same content is already stored
+        Media media = new Media();
+        media.setProductId(productId);
+        media.setHash(hash);
+        media.setStatus(MediaStatus.READY);
+        Optional<Media> stored = mediaRepo.findFirstByHashAndImageUrlNotNull(hash);
+        if (stored.isPresent()) {
+            media.setImageUrl(stored.get().getImageUrl());
+            media.setVariants(stored.get().getVariants());
+        } else {
+            media.setImageUrl(cloudStorageService.upload(file));
+        }
+
+        // 4. Save media info to MongoDB
+        Media saved = saveOrFindExisting(media);
+
+        // 5. Resized variants are generated in the background
+        if (saved.getImageUrl() != null && saved.getVariants() == null) {
+            scheduleVariants(saved, file);
+        }
+        return saved;
+    }
+
+    @Override
+    public Media uploadAndSaveAsync(MultipartFile file, String productId) {
+        // 1. Validate file
+        validateFile(file);
+
+        // 2. Same image already attached to this product: nothing to do
+        String hash = contentHash(file);
+        Optional<Media> existing = findAttached(productId, hash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
 
-        // 3. Save media info to MongoDB
         Media media = new Media();
-        media.setImageUrl(imageUrl);
         media.setProductId(productId);
+        media.setHash(hash);
+
+        // 3. Content already stored: ready right away, no transfer to queue
+        Optional<Media> stored = mediaRepo.findFirstByHashAndImageUrlNotNull(hash);
+        if (stored.isPresent()) {
+            media.setImageUrl(stored.get().getImageUrl());
+            media.setVariants(stored.get().getVariants());
+            media.setStatus(MediaStatus.READY);
+            return saveOrFindExisting(media);
+        }
 
-        return mediaRepo.save(media);
+        // 4. Save the media as PENDING and queue the transfer
+        uploadQueueService.ensureCapacity();
+        media.setStatus(MediaStatus.PENDING);
+        Media saved;
+        try {
+            saved = mediaRepo.save(media);
+            saved.setCreated(true);
+        } catch (DuplicateKeyException e) {
+            // Same image queued concurrently for this product, that job is enough
+            return mediaRepo.findFirstByProductIdAndHash(productId, hash).orElseThrow(() -> e);
+        }
+        try {
+            uploadQueueService.submit(saved, file);
+        } catch (RuntimeException e) {
+            mediaRepo.deleteById(saved.getId());
+            throw e;
+        }
+        return saved;
     }
 
     @Override
@@ -47,8 +141,8 @@ public class MediaServiceImpl implements MediaService {
         // 1. Validate file
         validateFile(file);
 
-        // 2. Upload file to cloud (e.g., Cloudinary, S3)
-        return cloudStorageService.upload(file);
+        // 2. Upload file to cloud, unless the same content is already stored
+        return storedUrlOrUpload(file, contentHash(file));
     }
 
     @Override
@@ -59,7 +153,18 @@ public class MediaServiceImpl implements MediaService {
 
     @Override
     public List<Media> findByProductId(String productId) {
-        return mediaRepo.findByProductId(productId);
+        return mediaRepo.findByProductIdAndStatusNotIn(productId, WITHOUT_IMAGE);
+    }
+
+    @Override
+    public Map<String, List<Media>> findByProductIds(Collection<String> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return Map.of();
+        }
+
+        // Single $in query, then grouped in memory by product
+        return mediaRepo.findByProductIdInAndStatusNotIn(productIds, WITHOUT_IMAGE).stream()
+                .collect(Collectors.groupingBy(Media::getProductId));
     }
 
     @Override
@@ -72,6 +177,83 @@ public class MediaServiceImpl implements MediaService {
         mediaRepo.deleteByProductId(productId);
     }
 
+    /**
+     * The media of this product with the same content, if any. One whose asynchronous upload
+     * failed holds the (productId, hash) key without an image: it is removed and the new
+     * upload takes its place.
+     */
+    private Optional<Media> findAttached(String productId, String hash) {
+        Optional<Media> existing = mediaRepo.findFirstByProductIdAndHash(productId, hash);
+        if (existing.isPresent() && existing.get().getStatus() == MediaStatus.FAILED) {
+            mediaRepo.deleteById(existing.get().getId());
+            return Optional.empty();
+        }
+        return existing;
+    }
+
+    private Media saveOrFindExisting(Media media) {
+        try {
+            Media saved = mediaRepo.save(media);
+            saved.setCreated(true);
+            return saved;
+        } catch (DuplicateKeyException e) {
+            // Same image uploaded concurrently for this product
+            return mediaRepo.findFirstByProductIdAndHash(media.getProductId(), media.getHash()).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Copies the upload out of the multipart temp file (deleted at the end of the request)
+     * and hands it to the variant generation. Failing to schedule only means no variants.
+     */
+    private void scheduleVariants(Media media, MultipartFile file) {
+        Path copy = null;
+        try {
+            copy = Files.createTempFile("media-" + media.getId() + "-", ".upload");
+            file.transferTo(copy);
+            imageVariantService.generateVariants(media.getId(), copy, file.getOriginalFilename());
+        } catch (IOException | TaskRejectedException e) {
+            System.out.println("Variants not scheduled for media " + media.getId() + ": " + e.getMessage());
+            deleteQuietly(copy);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Temp file, removed with the temp directory otherwise
+        }
+    }
+
+    private String storedUrlOrUpload(MultipartFile file, String hash) {
+        return mediaRepo.findFirstByHashAndImageUrlNotNull(hash)
+                .map(Media::getImageUrl)
+                .orElseGet(() -> cloudStorageService.upload(file));
+    }
+
+    /**
+     * SHA-256 of the file content, read by chunks from the multipart stream
+     */
+    private String contentHash(MultipartFile file) {
+        try (InputStream inputStream = file.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[HASH_BUFFER_SIZE];
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error reading file content", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     /**
      * Comprehensive file validation including size, type, name, and content validation
      */
@@ -134,11 +316,15 @@ public class MediaServiceImpl implements MediaService {
     }
 
     /**
-     * Validates file signature (magic numbers) to ensure file type matches content
+     * Validates file signature (magic numbers) to ensure file type matches content.
+     * Only the header is read, the file itself is never loaded in memory.
      */
     private void validateFileSignature(MultipartFile file) {
         try {
-            byte[] bytes = file.getBytes();
+            byte[] bytes;
+            try (InputStream inputStream = file.getInputStream()) {
+                bytes = inputStream.readNBytes(SIGNATURE_LENGTH);
+            }
             if (bytes.length < 4) {
                 throw new IllegalArgumentException("File too small to be a valid image");
             }
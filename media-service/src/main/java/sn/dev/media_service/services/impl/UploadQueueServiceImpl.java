@@ -0,0 +1,253 @@
+package sn.dev.media_service.services.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.types.ObjectId;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.entities.MediaStatus;
+import sn.dev.media_service.data.entities.UploadJob;
+import sn.dev.media_service.data.repos.MediaRepo;
+import sn.dev.media_service.data.repos.UploadJobRepo;
+import sn.dev.media_service.exceptions.UploadQueueFullException;
+import sn.dev.media_service.services.CloudStorageService;
+import sn.dev.media_service.services.ImageVariantService;
+import sn.dev.media_service.services.UploadQueueService;
+
+/**
+ * Asynchronous uploads: the file is spooled to local disk and a job is recorded in Mongo,
+ * then a bounded pool of workers transfers it to the storage and flips the media to READY.
+ * The request thread only pays for the local copy, not for the storage round-trip.
+ * Uploads that can no longer complete (spooled file lost with the container, job older than
+ * the job timeout, media saved without its job) are marked FAILED so the same image can be
+ * uploaded again.
+ */
+@Service
+public class UploadQueueServiceImpl implements UploadQueueService {
+    private final UploadJobRepo uploadJobRepo;
+    private final MediaRepo mediaRepo;
+    private final CloudStorageService cloudStorageService;
+    private final ImageVariantService imageVariantService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Path spoolDir;
+    private final long retryAfterSeconds;
+    private final Duration jobTimeout;
+
+    public UploadQueueServiceImpl(UploadJobRepo uploadJobRepo, MediaRepo mediaRepo,
+            CloudStorageService cloudStorageService, ImageVariantService imageVariantService,
+            @Qualifier("uploadJobExecutor") ThreadPoolTaskExecutor executor,
+            @Value("${media.upload.queue.spool-dir:/tmp/media-spool}") String spoolDir,
+            @Value("${media.upload.queue.retry-after:5}") long retryAfterSeconds,
+            @Value("${media.upload.queue.job-timeout:30m}") Duration jobTimeout) {
+        this.uploadJobRepo = uploadJobRepo;
+        this.mediaRepo = mediaRepo;
+        this.cloudStorageService = cloudStorageService;
+        this.imageVariantService = imageVariantService;
+        this.executor = executor;
+        this.spoolDir = Path.of(spoolDir).toAbsolutePath().normalize();
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.jobTimeout = jobTimeout;
+    }
+
+    @Override
+    public void ensureCapacity() {
+        if (executor.getThreadPoolExecutor().getQueue().remainingCapacity() == 0) {
+            throw new UploadQueueFullException(retryAfterSeconds);
+        }
+    }
+
+    @Override
+    public void submit(Media media, MultipartFile file) {
+        Path spooled = null;
+        try {
+            Files.createDirectories(spoolDir);
+            spooled = Files.createTempFile(spoolDir, "upload-", ".spool");
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            deleteQuietly(spooled);
+            throw new RuntimeException("Failed to spool upload", e);
+        }
+
+        UploadJob job = new UploadJob();
+        job.setMediaId(media.getId());
+        job.setSpoolPath(spooled.toString());
+        job.setOriginalFileName(file.getOriginalFilename());
+        job.setContentType(file.getContentType());
+        job.setCreatedAt(Instant.now());
+        UploadJob saved = uploadJobRepo.save(job);
+
+        try {
+            String jobId = saved.getId();
+            executor.execute(() -> process(jobId));
+        } catch (TaskRejectedException e) {
+            // Filled up since ensureCapacity(), nothing is kept for this upload
+            uploadJobRepo.delete(saved);
+            deleteQuietly(spooled);
+            throw new UploadQueueFullException(retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Transfers one job to the storage. The job document is removed once the media is
+     * READY or FAILED, whatever happens it is not retried forever.
+     */
+    void process(String jobId) {
+        UploadJob job = uploadJobRepo.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        Path spooled = Path.of(job.getSpoolPath());
+        Media media = mediaRepo.findById(job.getMediaId()).orElse(null);
+        if (media == null) {
+            // Deleted while queued
+            uploadJobRepo.delete(job);
+            deleteQuietly(spooled);
+            return;
+        }
+
+        boolean handedOver = false;
+        try {
+            String imageUrl = cloudStorageService.upload(new FileSystemResource(spooled),
+                    job.getOriginalFileName(), job.getContentType());
+            media.setImageUrl(imageUrl);
+            media.setStatus(MediaStatus.READY);
+            mediaRepo.save(media);
+
+            // The spooled copy becomes the source of the variants, which delete it
+            imageVariantService.generateVariants(media.getId(), spooled, job.getOriginalFileName());
+            handedOver = true;
+        } catch (TaskRejectedException e) {
+            System.out.println("Variants not scheduled for media " + media.getId() + ": " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.out.println("Upload job " + jobId + " failed: " + e.getMessage());
+            media.setStatus(MediaStatus.FAILED);
+            mediaRepo.save(media);
+        } finally {
+            uploadJobRepo.delete(job);
+            if (!handedOver) {
+                deleteQuietly(spooled);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingJobs() {
+        Thread.ofVirtual().name("upload-job-resume").start(() -> {
+            try {
+                resumeJobs();
+                failOrphanedMedia();
+            } catch (RuntimeException e) {
+                System.out.println("Could not resume upload jobs: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Requeues the jobs left over by a previous run. Those whose spooled file is gone (container
+     * recreated, spool directory wiped) or older than the job timeout cannot complete: their media
+     * is marked FAILED.
+     */
+    public void resumeJobs() {
+        Instant expiry = Instant.now().minus(jobTimeout);
+        for (UploadJob job : uploadJobRepo.findAll()) {
+            if (!Files.exists(Path.of(job.getSpoolPath()))) {
+                fail(job, "spooled file missing");
+            } else if (expired(job, expiry)) {
+                fail(job, "timed out");
+            } else {
+                String jobId = job.getId();
+                try {
+                    executor.execute(() -> process(jobId));
+                } catch (TaskRejectedException e) {
+                    System.out.println("Upload queue full, remaining jobs resumed on next start");
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fails the jobs still not done after the job timeout and the PENDING media left without a
+     * job (the process stopped between saving the media and saving its job)
+     */
+    @Scheduled(initialDelayString = "${media.upload.queue.sweep-interval:5m}",
+            fixedDelayString = "${media.upload.queue.sweep-interval:5m}")
+    public void failStalledUploads() {
+        try {
+            Instant expiry = Instant.now().minus(jobTimeout);
+            for (UploadJob job : uploadJobRepo.findAll()) {
+                if (expired(job, expiry)) {
+                    fail(job, "timed out");
+                }
+            }
+            failOrphanedMedia();
+        } catch (RuntimeException e) {
+            System.out.println("Could not sweep upload jobs: " + e.getMessage());
+        }
+    }
+
+    /**
+     * PENDING media without a job, once older than the job timeout (a job may still be on its way)
+     */
+    public void failOrphanedMedia() {
+        Instant expiry = Instant.now().minus(jobTimeout);
+        Set<String> queued = uploadJobRepo.findAll().stream()
+                .map(UploadJob::getMediaId)
+                .collect(Collectors.toSet());
+        for (Media media : mediaRepo.findByStatus(MediaStatus.PENDING)) {
+            // No creation date on media, the ObjectId carries it
+            if (!queued.contains(media.getId()) && ObjectId.isValid(media.getId())
+                    && new ObjectId(media.getId()).getDate().toInstant().isBefore(expiry)) {
+                System.out.println("Media " + media.getId() + " has no upload job, marked FAILED");
+                media.setStatus(MediaStatus.FAILED);
+                mediaRepo.save(media);
+            }
+        }
+    }
+
+    private void fail(UploadJob job, String reason) {
+        System.out.println("Upload job " + job.getId() + " abandoned (" + reason + "), media " + job.getMediaId()
+                + " marked FAILED");
+        mediaRepo.findById(job.getMediaId())
+                .filter(media -> media.getStatus() == MediaStatus.PENDING)
+                .ifPresent(media -> {
+                    media.setStatus(MediaStatus.FAILED);
+                    mediaRepo.save(media);
+                });
+        uploadJobRepo.delete(job);
+        deleteQuietly(Path.of(job.getSpoolPath()));
+    }
+
+    // Jobs recorded without a date predate the timeout
+    private static boolean expired(UploadJob job, Instant expiry) {
+        return job.getCreatedAt() == null || job.getCreatedAt().isBefore(expiry);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // Spool file, cleaned up with the spool directory otherwise
+        }
+    }
+}
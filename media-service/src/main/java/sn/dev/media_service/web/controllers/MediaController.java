@@ -2,6 +2,7 @@ package sn.dev.media_service.web.controllers;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,12 +18,22 @@ public interface MediaController {
     ResponseEntity<Media> uploadNsave(@RequestParam MultipartFile file,
             @RequestParam String productId);
 
+    @PutMapping(value = "/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    ResponseEntity<Media> uploadNsaveAsync(@RequestParam MultipartFile file,
+            @RequestParam String productId);
+
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     ResponseEntity<Map<String,String >> uploadImage(@RequestParam MultipartFile file);
 
+    @GetMapping("/{id}")
+    ResponseEntity<Media> getById(@PathVariable String id);
+
     @GetMapping("/product/{productId}")
     ResponseEntity<List<Media>> getByProductId(@PathVariable String productId);
 
+    @PostMapping(value = "/products", consumes = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<Map<String, List<Media>>> getByProductIds(@RequestBody Set<String> productIds);
+
     @DeleteMapping("/{id}")
     ResponseEntity<Void> deleteById(@PathVariable String id);
 
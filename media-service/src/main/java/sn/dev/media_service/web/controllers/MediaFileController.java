@@ -0,0 +1,16 @@
+package sn.dev.media_service.web.controllers;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@RequestMapping("/api/media/files")
+public interface MediaFileController {
+    @GetMapping("/{shard1}/{shard2}/{fileName}")
+    ResponseEntity<Resource> getFile(@PathVariable String shard1, @PathVariable String shard2,
+            @PathVariable String fileName, HttpServletRequest request);
+}
@@ -1,8 +1,10 @@
 package sn.dev.media_service.web.controllers.impl;
 
+import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -10,6 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.entities.MediaStatus;
 import sn.dev.media_service.services.MediaService;
 import sn.dev.media_service.web.controllers.MediaController;
 
@@ -27,6 +30,19 @@ public class MediaControllerImpl implements MediaController {
         return ResponseEntity.ok(media);
     }
 
+    @Override
+    public ResponseEntity<Media> uploadNsaveAsync(MultipartFile file, String productId) {
+        Media media = mediaService.uploadAndSaveAsync(file, productId);
+        if (media.getStatus() != MediaStatus.PENDING) {
+            // Already stored (same content uploaded before)
+            return ResponseEntity.ok(media);
+        }
+        // Status is polled on GET /api/media/{id} until READY
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/media/" + media.getId()))
+                .body(media);
+    }
+
     @Override
     public ResponseEntity<Map<String,String>> uploadImage(MultipartFile file) {
         Map<String,String> url = new HashMap<>();
@@ -34,12 +50,23 @@ public class MediaControllerImpl implements MediaController {
         return ResponseEntity.ok(url);
     }
 
+    @Override
+    public ResponseEntity<Media> getById(String id) {
+        return ResponseEntity.ok(mediaService.findById(id));
+    }
+
     @Override
     public ResponseEntity<List<Media>> getByProductId(String productId) {
         List<Media> mediaList = mediaService.findByProductId(productId);
         return ResponseEntity.ok(mediaList);
     }
 
+    @Override
+    public ResponseEntity<Map<String, List<Media>>> getByProductIds(Set<String> productIds) {
+        Map<String, List<Media>> mediaByProduct = mediaService.findByProductIds(productIds);
+        return ResponseEntity.ok(mediaByProduct);
+    }
+
     @Override
     public ResponseEntity<Void> deleteById(String id) {
         mediaService.deleteById(id);
@@ -0,0 +1,75 @@
+package sn.dev.media_service.web.controllers.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import sn.dev.media_service.services.impl.LocalFileStorageService;
+import sn.dev.media_service.web.controllers.MediaFileController;
+
+/**
+ * Serves the files of the local storage. Only registered when media.storage.type=local.
+ */
+@RestController
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "local")
+public class MediaFileControllerImpl implements MediaFileController {
+    // Tomcat request attributes to hand the file over to sendfile (FileChannel.transferTo on the socket)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalFileStorageService localFileStorageService;
+
+    public MediaFileControllerImpl(LocalFileStorageService localFileStorageService) {
+        this.localFileStorageService = localFileStorageService;
+    }
+
+    @Override
+    public ResponseEntity<Resource> getFile(String shard1, String shard2, String fileName,
+            HttpServletRequest request) {
+        Path path = localFileStorageService.resolve(shard1 + "/" + shard2 + "/" + fileName);
+        MediaType mediaType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        // Content-addressed: a key never changes content
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && request.getHeader(HttpHeaders.RANGE) == null) {
+            long size = size(path);
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return ResponseEntity.ok()
+                    .cacheControl(cacheControl)
+                    .contentType(mediaType)
+                    .contentLength(size)
+                    .build();
+        }
+
+        // Range requests (and containers without sendfile) are served as resource regions
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .contentType(mediaType)
+                .body(new FileSystemResource(path));
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package sn.dev.media_service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import sn.dev.media_service.configs.MongoIndexConfig;
+import sn.dev.media_service.configs.QueryPlanVerifier;
+
+/**
+ * Needs a real MongoDB (explain is answered by its query planner):
+ * MONGODB_URI=mongodb://localhost:27017 mvn verify
+ */
+@SpringBootTest(properties = {
+        "spring.data.mongodb.uri=${MONGODB_URI}",
+        "spring.data.mongodb.database=mediadb_it"
+})
+@EnabledIfEnvironmentVariable(named = "MONGODB_URI", matches = ".+")
+public class MongoIndexIT {
+    @Autowired
+    private MongoIndexConfig mongoIndexConfig;
+
+    @Autowired
+    private QueryPlanVerifier queryPlanVerifier;
+
+    @Test
+    void everyDerivedQueryUsesAnIndex() {
+        mongoIndexConfig.ensureIndexes();
+
+        assertEquals(List.of(), queryPlanVerifier.findCollectionScans());
+    }
+}
@@ -21,16 +21,14 @@ public class CloudStorageServiceImplTests {
 
     @BeforeEach
     void setUp() {
-        cloudStorageService = new CloudStorageServiceImpl();
+        // mock RestTemplate
+        restTemplate = Mockito.mock(RestTemplate.class);
+        cloudStorageService = new CloudStorageServiceImpl(restTemplate);
 
         // inject valeurs @Value manuellement
         cloudStorageService.projectUrl = "http://localhost:8000";
         cloudStorageService.apiKey = "dummy-key";
         cloudStorageService.bucketName = "test-bucket";
-
-        // mock RestTemplate
-        restTemplate = Mockito.mock(RestTemplate.class);
-        cloudStorageService.restTemplate = restTemplate;
     }
 
     @Test
@@ -49,6 +47,27 @@ public class CloudStorageServiceImplTests {
         assertTrue(url.endsWith(".jpg"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void upload_streamsFileInsteadOfBytes() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "stream.png", "image/png", new byte[]{1, 2, 3, 4, 5}
+        );
+
+        ResponseEntity<String> response = new ResponseEntity<>("OK", HttpStatus.OK);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.PUT), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(response);
+
+        cloudStorageService.upload(file);
+
+        org.mockito.ArgumentCaptor<HttpEntity<?>> captor = org.mockito.ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).exchange(anyString(), eq(HttpMethod.PUT), captor.capture(), eq(String.class));
+        HttpEntity<?> entity = captor.getValue();
+        assertInstanceOf(org.springframework.core.io.Resource.class, entity.getBody());
+        assertEquals(5, entity.getHeaders().getContentLength());
+        assertEquals(MediaType.IMAGE_PNG, entity.getHeaders().getContentType());
+    }
+
     @Test
     void upload_failure_statusCodeNot2xx() {
         MockMultipartFile file = new MockMultipartFile(
@@ -0,0 +1,111 @@
+package sn.dev.media_service.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.core.io.Resource;
+
+import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.repos.MediaRepo;
+import sn.dev.media_service.services.impl.ImageVariantServiceImpl;
+
+public class ImageVariantServiceImplTests {
+
+    @TempDir
+    Path tempDir;
+
+    private MediaRepo mediaRepo;
+    private CloudStorageService cloudStorageService;
+    private ImageVariantServiceImpl imageVariantService;
+    private List<BufferedImage> uploaded;
+
+    @BeforeEach
+    void setUp() {
+        mediaRepo = Mockito.mock(MediaRepo.class);
+        cloudStorageService = Mockito.mock(CloudStorageService.class);
+        imageVariantService = new ImageVariantServiceImpl(mediaRepo, cloudStorageService, new int[]{1200, 200, 600}, 0.8f);
+        uploaded = new ArrayList<>();
+        when(cloudStorageService.upload(any(Resource.class), anyString(), anyString())).thenAnswer(invocation -> {
+            try (InputStream inputStream = invocation.getArgument(0, Resource.class).getInputStream()) {
+                uploaded.add(ImageIO.read(inputStream));
+            }
+            return "http://cloud/" + invocation.getArgument(1);
+        });
+    }
+
+    @Test
+    void generateVariants_resizesToSmallerWidthsOnly() throws IOException {
+        Path source = image(800, 400, BufferedImage.TYPE_INT_RGB, "jpg");
+        Media media = new Media();
+        media.setId("m1");
+        when(mediaRepo.findById("m1")).thenReturn(Optional.of(media));
+
+        imageVariantService.generateVariants("m1", source, "photo.jpg");
+
+        ArgumentCaptor<Media> saved = ArgumentCaptor.forClass(Media.class);
+        verify(mediaRepo).save(saved.capture());
+        assertEquals(Map.of("200", "http://cloud/photo_200w.jpg", "600", "http://cloud/photo_600w.jpg"),
+                saved.getValue().getVariants());
+        assertEquals(200, uploaded.get(0).getWidth());
+        assertEquals(100, uploaded.get(0).getHeight());
+        assertEquals(600, uploaded.get(1).getWidth());
+        verify(cloudStorageService, times(2)).upload(any(Resource.class), anyString(), eq("image/jpeg"));
+        assertFalse(Files.exists(source), "the temporary copy must be removed");
+    }
+
+    @Test
+    void generateVariants_transparentImage_keepsPng() throws IOException {
+        Path source = image(300, 300, BufferedImage.TYPE_INT_ARGB, "png");
+        when(mediaRepo.findById("m1")).thenReturn(Optional.of(new Media()));
+
+        imageVariantService.generateVariants("m1", source, "logo.png");
+
+        verify(cloudStorageService).upload(any(Resource.class), eq("logo_200w.png"), eq("image/png"));
+        assertTrue(uploaded.get(0).getColorModel().hasAlpha());
+    }
+
+    @Test
+    void generateVariants_unreadableImage_recordsNothing() throws IOException {
+        Path source = Files.write(tempDir.resolve("image.webp"), new byte[]{0x52, 0x49, 0x46, 0x46, 0, 0, 0, 0, 0x57, 0x45, 0x42, 0x50});
+
+        imageVariantService.generateVariants("m1", source, "image.webp");
+
+        verifyNoInteractions(cloudStorageService);
+        verifyNoInteractions(mediaRepo);
+        assertFalse(Files.exists(source));
+    }
+
+    @Test
+    void generateVariants_mediaDeletedMeanwhile_doesNotRecreateIt() throws IOException {
+        Path source = image(800, 400, BufferedImage.TYPE_INT_RGB, "jpg");
+        when(mediaRepo.findById("m1")).thenReturn(Optional.empty());
+
+        imageVariantService.generateVariants("m1", source, "photo.jpg");
+
+        verify(mediaRepo, never()).save(any());
+    }
+
+    private Path image(int width, int height, int type, String format) throws IOException {
+        Path path = tempDir.resolve("source." + format);
+        ImageIO.write(new BufferedImage(width, height, type), format, path.toFile());
+        return path;
+    }
+}
@@ -0,0 +1,65 @@
+package sn.dev.media_service.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import sn.dev.media_service.services.impl.LocalFileStorageService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalFileStorageServiceTests {
+
+    @TempDir
+    Path root;
+
+    private LocalFileStorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        storageService = new LocalFileStorageService(root.toString(), "http://localhost:8083/api/media/files/");
+    }
+
+    @Test
+    void upload_writesContentAddressedShardedFile() throws IOException {
+        byte[] content = {(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A, 1, 2, 3};
+        MockMultipartFile file = new MockMultipartFile("file", "Photo.PNG", "image/png", content);
+
+        String url = storageService.upload(file);
+
+        String key = url.substring("http://localhost:8083/api/media/files/".length());
+        assertTrue(key.matches("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.png"), key);
+        assertTrue(key.substring(6).startsWith(key.substring(0, 2) + key.substring(3, 5)));
+        assertArrayEquals(content, Files.readAllBytes(storageService.resolve(key)));
+    }
+
+    @Test
+    void upload_sameContentTwice_storesOneFile() throws IOException {
+        byte[] content = {1, 2, 3, 4};
+        String url1 = storageService.upload(new MockMultipartFile("file", "a.jpg", "image/jpeg", content));
+        String url2 = storageService.upload(new MockMultipartFile("file", "b.jpg", "image/jpeg", content));
+
+        assertEquals(url1, url2);
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void resolve_rejectsPathTraversal() {
+        assertThrows(ResponseStatusException.class, () -> storageService.resolve("../../etc/passwd"));
+        assertThrows(ResponseStatusException.class, () -> storageService.resolve("ab/cd/../../secret"));
+    }
+
+    @Test
+    void resolve_unknownKey_throwsNotFound() {
+        String missing = "ab/cd/" + "abcd" + "0".repeat(60) + ".png";
+        assertThrows(ResponseStatusException.class, () -> storageService.resolve(missing));
+    }
+}
@@ -6,28 +6,37 @@ import org.mockito.Mockito;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.entities.MediaStatus;
 import sn.dev.media_service.data.repos.MediaRepo;
+import sn.dev.media_service.exceptions.UploadQueueFullException;
 import sn.dev.media_service.services.CloudStorageService;
 import sn.dev.media_service.services.impl.MediaServiceImpl;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 public class MediaServiceImplTests {
 
     private MediaRepo mediaRepo;
     private CloudStorageService cloudStorageService;
+    private ImageVariantService imageVariantService;
+    private UploadQueueService uploadQueueService;
     private MediaServiceImpl mediaService;
 
     @BeforeEach
     void setUp() {
         mediaRepo = Mockito.mock(MediaRepo.class);
         cloudStorageService = Mockito.mock(CloudStorageService.class);
-        mediaService = new MediaServiceImpl(mediaRepo, cloudStorageService);
+        imageVariantService = Mockito.mock(ImageVariantService.class);
+        uploadQueueService = Mockito.mock(UploadQueueService.class);
+        mediaService = new MediaServiceImpl(mediaRepo, cloudStorageService, imageVariantService, uploadQueueService);
     }
 
 
@@ -45,6 +54,218 @@ public class MediaServiceImplTests {
         assertEquals("http://cloud/img.png", url);
     }
 
+    @Test
+    void uploadImage_signatureMismatch_throwsException() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "img.png", "image/png", new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0, 0, 0}
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> mediaService.uploadImage(file));
+        verifyNoInteractions(cloudStorageService);
+    }
+
+    @Test
+    void uploadImage_signatureCheckReadsOnlyHeader() throws Exception {
+        byte[] content = new byte[1024 * 1024];
+        System.arraycopy(new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A}, 0, content, 0, 8);
+        // bytes read per opened stream: the signature check first, then the content hash
+        List<java.util.concurrent.atomic.AtomicInteger> streams = new java.util.concurrent.CopyOnWriteArrayList<>();
+        MockMultipartFile file = new MockMultipartFile("file", "big.png", "image/png", content) {
+            @Override
+            public byte[] getBytes() {
+                throw new AssertionError("the whole file must not be loaded in memory");
+            }
+
+            @Override
+            public java.io.InputStream getInputStream() {
+                java.util.concurrent.atomic.AtomicInteger bytesRead = new java.util.concurrent.atomic.AtomicInteger();
+                streams.add(bytesRead);
+                return new java.io.FilterInputStream(new java.io.ByteArrayInputStream(content)) {
+                    @Override
+                    public int read(byte[] b, int off, int len) throws java.io.IOException {
+                        int read = super.read(b, off, len);
+                        if (read > 0) {
+                            bytesRead.addAndGet(read);
+                        }
+                        return read;
+                    }
+                };
+            }
+        };
+        when(cloudStorageService.upload(file)).thenReturn("http://cloud/big.png");
+
+        assertEquals("http://cloud/big.png", mediaService.uploadImage(file));
+        int signatureBytes = streams.get(0).get();
+        assertTrue(signatureBytes <= 12, "read " + signatureBytes + " bytes to check the signature");
+    }
+
+    @Test
+    void uploadAndSave_newContent_uploadsAndStoresHash() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "img.png", "image/png", new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A}
+        );
+        when(cloudStorageService.upload(file)).thenReturn("http://cloud/img.png");
+        when(mediaRepo.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Media media = mediaService.uploadAndSave(file, "p1");
+
+        assertEquals("http://cloud/img.png", media.getImageUrl());
+        assertEquals("p1", media.getProductId());
+        // sha256 of the 8 PNG signature bytes
+        assertEquals("4c4b6a3be1314ab86138bef4314dde022e600960d8689a2c8f8631802d20dab6", media.getHash());
+        assertTrue(media.isCreated());
+        verify(cloudStorageService, times(1)).upload(file);
+        verify(imageVariantService).generateVariants(isNull(), any(java.nio.file.Path.class), eq("img.png"));
+    }
+
+    @Test
+    void uploadAndSave_contentAlreadyStored_skipsUpload() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "img.png", "image/png", new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A}
+        );
+        Media stored = new Media();
+        stored.setId("m1");
+        stored.setProductId("p1");
+        stored.setImageUrl("http://cloud/existing.png");
+        stored.setVariants(Map.of("200", "http://cloud/existing_200w.jpg"));
+        when(mediaRepo.findFirstByHashAndImageUrlNotNull(anyString())).thenReturn(Optional.of(stored));
+        when(mediaRepo.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Media media = mediaService.uploadAndSave(file, "p2");
+
+        assertEquals("http://cloud/existing.png", media.getImageUrl());
+        assertEquals("p2", media.getProductId());
+        assertEquals(stored.getVariants(), media.getVariants());
+        verifyNoInteractions(cloudStorageService);
+        verifyNoInteractions(imageVariantService);
+    }
+
+    @Test
+    void uploadAndSave_sameContentSameProduct_returnsExistingMedia() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "img.png", "image/png", new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A}
+        );
+        Media stored = new Media();
+        stored.setId("m1");
+        when(mediaRepo.findFirstByProductIdAndHash(eq("p1"), anyString())).thenReturn(Optional.of(stored));
+
+        Media media = mediaService.uploadAndSave(file, "p1");
+
+        assertSame(stored, media);
+        assertFalse(media.isCreated());
+        verify(mediaRepo, never()).save(any());
+        verifyNoInteractions(cloudStorageService);
+    }
+
+    @Test
+    void uploadAndSave_sameContentFailedBefore_replacesFailedMedia() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "img.png", "image/png", new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A}
+        );
+        Media failed = new Media();
+        failed.setId("m-failed");
+        failed.setStatus(MediaStatus.FAILED);
+        when(mediaRepo.findFirstByProductIdAndHash(eq("p1"), anyString())).thenReturn(Optional.of(failed));
+        when(cloudStorageService.upload(file)).thenReturn("http://cloud/img.png");
+        when(mediaRepo.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Media media = mediaService.uploadAndSave(file, "p1");
+
+        verify(mediaRepo).deleteById("m-failed");
+        assertNotSame(failed, media);
+        assertEquals("http://cloud/img.png", media.getImageUrl());
+        assertEquals(MediaStatus.READY, media.getStatus());
+        assertTrue(media.isCreated());
+    }
+
+    @Test
+    void uploadAndSaveAsync_sameContentFailedBefore_queuesAgain() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "img.png", "image/png", new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A}
+        );
+        Media failed = new Media();
+        failed.setId("m-failed");
+        failed.setStatus(MediaStatus.FAILED);
+        when(mediaRepo.findFirstByProductIdAndHash(eq("p1"), anyString())).thenReturn(Optional.of(failed));
+        when(mediaRepo.save(any(Media.class))).thenAnswer(invocation -> {
+            Media saved = invocation.getArgument(0);
+            saved.setId("m2");
+            return saved;
+        });
+
+        Media media = mediaService.uploadAndSaveAsync(file, "p1");
+
+        verify(mediaRepo).deleteById("m-failed");
+        assertEquals(MediaStatus.PENDING, media.getStatus());
+        verify(uploadQueueService).submit(media, file);
+    }
+
+    @Test
+    void uploadAndSaveAsync_newContent_savesPendingAndQueues() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "img.png", "image/png", new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A}
+        );
+        when(mediaRepo.save(any(Media.class))).thenAnswer(invocation -> {
+            Media saved = invocation.getArgument(0);
+            saved.setId("m1");
+            return saved;
+        });
+
+        Media media = mediaService.uploadAndSaveAsync(file, "p1");
+
+        assertEquals(MediaStatus.PENDING, media.getStatus());
+        assertNull(media.getImageUrl());
+        assertTrue(media.isCreated());
+        verify(uploadQueueService).ensureCapacity();
+        verify(uploadQueueService).submit(media, file);
+        verifyNoInteractions(cloudStorageService);
+    }
+
+    @Test
+    void uploadAndSaveAsync_queueFull_savesNothing() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "img.png", "image/png", new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A}
+        );
+        doThrow(new UploadQueueFullException(5)).when(uploadQueueService).ensureCapacity();
+
+        assertThrows(UploadQueueFullException.class, () -> mediaService.uploadAndSaveAsync(file, "p1"));
+        verify(mediaRepo, never()).save(any());
+        verify(uploadQueueService, never()).submit(any(), any());
+    }
+
+    @Test
+    void uploadAndSaveAsync_submitFails_removesPendingMedia() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "img.png", "image/png", new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A}
+        );
+        when(mediaRepo.save(any(Media.class))).thenAnswer(invocation -> {
+            Media saved = invocation.getArgument(0);
+            saved.setId("m1");
+            return saved;
+        });
+        doThrow(new UploadQueueFullException(5)).when(uploadQueueService).submit(any(), any());
+
+        assertThrows(UploadQueueFullException.class, () -> mediaService.uploadAndSaveAsync(file, "p1"));
+        verify(mediaRepo).deleteById("m1");
+    }
+
+    @Test
+    void uploadAndSaveAsync_contentAlreadyStored_readyWithoutQueue() {
+        MockMultipartFile file = new MockMultipartFile(
+                "file", "img.png", "image/png", new byte[]{(byte) 0x89, 0x50, 0x4E, 0x47, 0x0D, 0x0A, 0x1A, 0x0A}
+        );
+        Media stored = new Media();
+        stored.setImageUrl("http://cloud/existing.png");
+        when(mediaRepo.findFirstByHashAndImageUrlNotNull(anyString())).thenReturn(Optional.of(stored));
+        when(mediaRepo.save(any(Media.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Media media = mediaService.uploadAndSaveAsync(file, "p2");
+
+        assertEquals(MediaStatus.READY, media.getStatus());
+        assertEquals("http://cloud/existing.png", media.getImageUrl());
+        verifyNoInteractions(uploadQueueService);
+    }
+
     @Test
     void uploadAndSave_invalidFile_empty_throwsException() {
         MockMultipartFile file = new MockMultipartFile(
@@ -97,13 +318,42 @@ public class MediaServiceImplTests {
         media1.setProductId("p1");
         Media media2 = new Media();
         media2.setProductId("p1");
-        when(mediaRepo.findByProductId("p1")).thenReturn(Arrays.asList(media1, media2));
+        when(mediaRepo.findByProductIdAndStatusNotIn("p1", Set.of(MediaStatus.PENDING, MediaStatus.FAILED)))
+                .thenReturn(Arrays.asList(media1, media2));
 
         List<Media> result = mediaService.findByProductId("p1");
 
         assertEquals(2, result.size());
     }
 
+    @Test
+    void findByProductIds_groupsByProduct() {
+        Media media1 = new Media();
+        media1.setProductId("p1");
+        Media media2 = new Media();
+        media2.setProductId("p1");
+        Media media3 = new Media();
+        media3.setProductId("p2");
+        Set<String> productIds = Set.of("p1", "p2", "p3");
+        when(mediaRepo.findByProductIdInAndStatusNotIn(productIds, Set.of(MediaStatus.PENDING, MediaStatus.FAILED)))
+                .thenReturn(Arrays.asList(media1, media2, media3));
+
+        Map<String, List<Media>> result = mediaService.findByProductIds(productIds);
+
+        assertEquals(2, result.get("p1").size());
+        assertEquals(1, result.get("p2").size());
+        assertFalse(result.containsKey("p3"));
+        verify(mediaRepo, times(1)).findByProductIdInAndStatusNotIn(eq(productIds), anyCollection());
+    }
+
+    @Test
+    void findByProductIds_empty_skipsQuery() {
+        Map<String, List<Media>> result = mediaService.findByProductIds(Set.of());
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(mediaRepo);
+    }
+
     @Test
     void deleteById_success() {
         mediaService.deleteById("123");
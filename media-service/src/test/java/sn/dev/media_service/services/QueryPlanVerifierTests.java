@@ -0,0 +1,148 @@
+package sn.dev.media_service.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactoryBean;
+import org.springframework.data.repository.Repository;
+
+import com.mongodb.client.MongoDatabase;
+
+import sn.dev.media_service.configs.MongoIndexConfig;
+import sn.dev.media_service.configs.QueryPlanVerifier;
+import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.entities.UploadJob;
+import sn.dev.media_service.data.repos.MediaRepo;
+
+public class QueryPlanVerifierTests {
+
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final List<Document> explained = new ArrayList<>();
+
+    private static Document explainResult(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    private static Document stage(String name, Document inputStage) {
+        Document stage = new Document("stage", name);
+        return inputStage == null ? stage : stage.append("inputStage", inputStage);
+    }
+
+    @Test
+    void detectsCollectionScanInClassicAndSlotBasedPlans() {
+        Document indexed = stage("FETCH", stage("IXSCAN", null).append("indexName", "product_id_idx"));
+        Document scanned = stage("SORT", stage("COLLSCAN", null));
+        Document slotBased = new Document("queryPlan", stage("COLLSCAN", null)).append("slotBasedPlan", new Document("stages", "[1] scan"));
+        Document orPlan = stage("OR", null).append("inputStages", List.of(stage("IXSCAN", null), stage("COLLSCAN", null)));
+
+        assertFalse(QueryPlanVerifier.isCollectionScan(indexed));
+        assertTrue(QueryPlanVerifier.isCollectionScan(scanned));
+        assertTrue(QueryPlanVerifier.isCollectionScan(slotBased));
+        assertTrue(QueryPlanVerifier.isCollectionScan(orPlan));
+    }
+
+    @BeforeEach
+    void setUp() {
+        mappingContext.setInitialEntitySet(Set.of(Media.class, UploadJob.class));
+        // UploadJob.createdAt is an Instant, stored as a date rather than mapped as a document
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(database.runCommand(any(Document.class))).thenAnswer(invocation -> {
+            Document find = invocation.getArgument(0, Document.class).get("explain", Document.class);
+            explained.add(find);
+            // Only the lookup of an already stored image misses its index in this fake database
+            return explainResult(find.get("filter", Document.class).toJson().contains("imageUrl")
+                    ? stage("COLLSCAN", null)
+                    : stage("FETCH", stage("IXSCAN", null)));
+        });
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getDb()).thenReturn(database);
+    }
+
+    private <T extends Repository<Media, String>> QueryPlanVerifier verifier(Class<T> repositoryInterface) {
+        MongoRepositoryFactoryBean<T, Media, String> repository = new MongoRepositoryFactoryBean<>(repositoryInterface);
+        repository.setMongoOperations(mongoTemplate);
+        repository.setMappingContext(mappingContext);
+        repository.afterPropertiesSet();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("repository", repository);
+        return new QueryPlanVerifier(mongoTemplate, beanFactory);
+    }
+
+    @Test
+    void explainsEveryDerivedQueryWithItsMappedFilter() {
+        List<String> collectionScans = verifier(MediaRepo.class).findCollectionScans();
+
+        assertEquals(List.of("MediaRepo.findFirstByHashAndImageUrlNotNull"), collectionScans);
+        assertEquals(6, explained.size());
+        Document byProducts = explained.stream()
+                .filter(find -> find.get("filter", Document.class).toJson().contains("$in"))
+                .findFirst().orElseThrow();
+        assertEquals("media", byProducts.getString("find"));
+        // The status is compared by its name, as the enum is stored
+        String filter = byProducts.get("filter", Document.class).toJson();
+        assertTrue(filter.contains("\"$nin\": [\"PENDING\"]"), filter);
+        assertTrue(filter.contains("productId"), filter);
+    }
+
+    interface PrefixSearchMediaRepo extends MongoRepository<Media, String> {
+        List<Media> findByHashStartingWith(String prefix);
+    }
+
+    @Test
+    void failsOnQueriesItDoesNotKnowHowToExplain() {
+        QueryPlanVerifier verifier = verifier(PrefixSearchMediaRepo.class);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, verifier::findCollectionScans);
+
+        assertTrue(error.getMessage().contains("STARTING_WITH"));
+        assertTrue(explained.isEmpty());
+    }
+
+    @Test
+    void ensureIndexesCreatesTheMediaIndexes() {
+        IndexOperations mediaIndexOps = mock(IndexOperations.class);
+        IndexOperations uploadJobIndexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(Media.class)).thenReturn(mediaIndexOps);
+        when(mongoTemplate.indexOps(UploadJob.class)).thenReturn(uploadJobIndexOps);
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+
+        new MongoIndexConfig(mongoTemplate, null, false).ensureIndexes();
+
+        verify(mediaIndexOps, times(4)).createIndex(indexes.capture());
+        assertEquals(Set.of("product_hash_idx", "product_id_idx", "hash", "status"),
+                indexes.getAllValues().stream().map(index -> index.getIndexOptions().getString("name")).collect(Collectors.toSet()));
+        verifyNoInteractions(uploadJobIndexOps);
+    }
+}
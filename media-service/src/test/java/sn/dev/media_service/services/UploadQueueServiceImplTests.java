@@ -0,0 +1,208 @@
+package sn.dev.media_service.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import sn.dev.media_service.data.entities.Media;
+import sn.dev.media_service.data.entities.MediaStatus;
+import sn.dev.media_service.data.entities.UploadJob;
+import sn.dev.media_service.data.repos.MediaRepo;
+import sn.dev.media_service.data.repos.UploadJobRepo;
+import sn.dev.media_service.exceptions.UploadQueueFullException;
+import sn.dev.media_service.services.impl.UploadQueueServiceImpl;
+
+public class UploadQueueServiceImplTests {
+
+    @TempDir
+    Path spoolDir;
+
+    private UploadJobRepo uploadJobRepo;
+    private MediaRepo mediaRepo;
+    private CloudStorageService cloudStorageService;
+    private ImageVariantService imageVariantService;
+    private ThreadPoolTaskExecutor executor;
+    private UploadQueueServiceImpl uploadQueueService;
+    private Media media;
+
+    @BeforeEach
+    void setUp() {
+        uploadJobRepo = Mockito.mock(UploadJobRepo.class);
+        mediaRepo = Mockito.mock(MediaRepo.class);
+        cloudStorageService = Mockito.mock(CloudStorageService.class);
+        imageVariantService = Mockito.mock(ImageVariantService.class);
+        executor = Mockito.mock(ThreadPoolTaskExecutor.class);
+        uploadQueueService = new UploadQueueServiceImpl(uploadJobRepo, mediaRepo, cloudStorageService,
+                imageVariantService, executor, spoolDir.toString(), 7, Duration.ofMinutes(30));
+
+        media = new Media();
+        media.setId("m1");
+        media.setStatus(MediaStatus.PENDING);
+        when(mediaRepo.findById("m1")).thenReturn(Optional.of(media));
+        when(uploadJobRepo.save(any(UploadJob.class))).thenAnswer(invocation -> {
+            UploadJob job = invocation.getArgument(0);
+            job.setId("j1");
+            when(uploadJobRepo.findById("j1")).thenReturn(Optional.of(job));
+            return job;
+        });
+    }
+
+    @Test
+    void submit_workerUploadsAndMarksReady() throws Exception {
+        // Run the queued job inline
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        when(cloudStorageService.upload(any(Resource.class), eq("img.png"), eq("image/png"))).thenReturn("http://cloud/img.png");
+
+        uploadQueueService.submit(media, new MockMultipartFile("file", "img.png", "image/png", new byte[]{1, 2, 3}));
+
+        assertEquals(MediaStatus.READY, media.getStatus());
+        assertEquals("http://cloud/img.png", media.getImageUrl());
+        verify(mediaRepo).save(media);
+        verify(uploadJobRepo).delete(any(UploadJob.class));
+        // The spooled copy is handed over to the variant generation
+        ArgumentCaptor<Path> spooled = ArgumentCaptor.forClass(Path.class);
+        verify(imageVariantService).generateVariants(eq("m1"), spooled.capture(), eq("img.png"));
+        assertTrue(spooled.getValue().startsWith(spoolDir));
+    }
+
+    @Test
+    void submit_uploadFails_marksFailedAndCleansUp() throws Exception {
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        when(cloudStorageService.upload(any(Resource.class), anyString(), anyString())).thenThrow(new RuntimeException("down"));
+
+        uploadQueueService.submit(media, new MockMultipartFile("file", "img.png", "image/png", new byte[]{1, 2, 3}));
+
+        assertEquals(MediaStatus.FAILED, media.getStatus());
+        verify(uploadJobRepo).delete(any(UploadJob.class));
+        verifyNoInteractions(imageVariantService);
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void submit_rejectedByExecutor_throwsQueueFullAndCleansUp() throws Exception {
+        doThrow(new TaskRejectedException("full")).when(executor).execute(any(Runnable.class));
+
+        UploadQueueFullException e = assertThrows(UploadQueueFullException.class, () -> uploadQueueService.submit(media,
+                new MockMultipartFile("file", "img.png", "image/png", new byte[]{1, 2, 3})));
+
+        assertEquals(7, e.getRetryAfterSeconds());
+        verify(uploadJobRepo).delete(any(UploadJob.class));
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void ensureCapacity_queueFull_throws() {
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(1);
+        queue.add(() -> { });
+        ThreadPoolExecutor pool = Mockito.mock(ThreadPoolExecutor.class);
+        when(pool.getQueue()).thenReturn(queue);
+        when(executor.getThreadPoolExecutor()).thenReturn(pool);
+
+        assertThrows(UploadQueueFullException.class, () -> uploadQueueService.ensureCapacity());
+    }
+
+    @Test
+    void resumeJobs_spooledFileMissing_marksFailedAndDropsJob() {
+        UploadJob job = job(spoolDir.resolve("gone.spool"), Instant.now());
+
+        uploadQueueService.resumeJobs();
+
+        assertEquals(MediaStatus.FAILED, media.getStatus());
+        verify(mediaRepo).save(media);
+        verify(uploadJobRepo).delete(job);
+        verify(executor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void resumeJobs_jobOlderThanTimeout_marksFailed() throws Exception {
+        Path spooled = Files.createFile(spoolDir.resolve("old.spool"));
+        UploadJob job = job(spooled, Instant.now().minus(Duration.ofHours(1)));
+
+        uploadQueueService.resumeJobs();
+
+        assertEquals(MediaStatus.FAILED, media.getStatus());
+        verify(uploadJobRepo).delete(job);
+        assertFalse(Files.exists(spooled));
+        verify(executor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void resumeJobs_recentJobWithItsFile_requeued() throws Exception {
+        UploadJob job = job(Files.createFile(spoolDir.resolve("recent.spool")), Instant.now());
+
+        uploadQueueService.resumeJobs();
+
+        assertEquals(MediaStatus.PENDING, media.getStatus());
+        verify(uploadJobRepo, never()).delete(job);
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void failOrphanedMedia_oldPendingMediaWithoutJob_marksFailed() {
+        Media orphan = pending(Instant.now().minus(Duration.ofHours(1)));
+        Media justSaved = pending(Instant.now());
+        Media queued = pending(Instant.now().minus(Duration.ofHours(1)));
+        UploadJob job = new UploadJob();
+        job.setMediaId(queued.getId());
+        when(uploadJobRepo.findAll()).thenReturn(List.of(job));
+        when(mediaRepo.findByStatus(MediaStatus.PENDING)).thenReturn(List.of(orphan, justSaved, queued));
+
+        uploadQueueService.failOrphanedMedia();
+
+        assertEquals(MediaStatus.FAILED, orphan.getStatus());
+        // Its job may still be on its way
+        assertEquals(MediaStatus.PENDING, justSaved.getStatus());
+        assertEquals(MediaStatus.PENDING, queued.getStatus());
+        verify(mediaRepo).save(orphan);
+        verify(mediaRepo, times(1)).save(any(Media.class));
+    }
+
+    private UploadJob job(Path spoolPath, Instant createdAt) {
+        UploadJob job = new UploadJob();
+        job.setId("j1");
+        job.setMediaId("m1");
+        job.setSpoolPath(spoolPath.toString());
+        job.setCreatedAt(createdAt);
+        when(uploadJobRepo.findAll()).thenReturn(List.of(job));
+        return job;
+    }
+
+    private static Media pending(Instant created) {
+        Media pending = new Media();
+        pending.setId(new ObjectId(Date.from(created)).toHexString());
+        pending.setStatus(MediaStatus.PENDING);
+        return pending;
+    }
+}
@@ -0,0 +1,15 @@
+package sn.dev.product_service.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read cache of the catalogue, the cache manager itself (Caffeine, size and TTL) comes from
+ * the spring.cache.* properties so it can be switched off with spring.cache.type=none.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String PRODUCTS_CACHE = "products";
+    public static final String PRODUCT_LIST_CACHE = "productList";
+}
@@ -0,0 +1,51 @@
+package sn.dev.product_service.config;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Keeps the tokens already verified by the delegate (RSA signature, exp/nbf) until they
+ * expire, so the same token presented again is not verified again; tokens that fail
+ * verification are never cached. Publishes cache.gets/cache.evictions... tagged cache=jwt.
+ */
+public class CachingJwtDecoder implements JwtDecoder, MeterBinder {
+    // Tokens without exp are re-verified after this delay
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    private final JwtDecoder delegate;
+    // Keyed by the token, which the cached Jwt holds anyway
+    private final Cache<String, Jwt> cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String token, Jwt jwt) -> jwt.getExpiresAt() == null
+                        ? DEFAULT_TTL
+                        : Duration.between(Instant.now(), jwt.getExpiresAt())))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return cache.get(token, delegate::decode);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt");
+    }
+}
@@ -1,5 +1,8 @@
 package sn.dev.product_service.config;
 
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -8,7 +11,8 @@ import feign.form.spring.SpringFormEncoder;
 @Configuration
 public class FeignSupportConfig {
     @Bean
-    public SpringFormEncoder feignFormEncoder() {
-        return new SpringFormEncoder();
+    public SpringFormEncoder feignFormEncoder(ObjectFactory<HttpMessageConverters> messageConverters) {
+        // Multipart bodies go through the form encoder, everything else (JSON) through Spring's converters
+        return new SpringFormEncoder(new SpringEncoder(messageConverters));
     }
 }
@@ -0,0 +1,19 @@
+package sn.dev.product_service.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MediaUploadConfig {
+    /**
+     * Uploads spend their time waiting on media-service and the storage, one
+     * virtual thread per upload is enough, concurrency is bounded by the caller.
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService mediaUploadExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
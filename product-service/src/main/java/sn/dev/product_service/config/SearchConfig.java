@@ -0,0 +1,13 @@
+package sn.dev.product_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Schedules the periodic rebuild of the search index (search.index.refresh-interval), which
+ * picks up the products written through the other instances.
+ */
+@Configuration
+@EnableScheduling
+public class SearchConfig {
+}
@@ -1,5 +1,6 @@
 package sn.dev.product_service.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,10 +9,12 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
 import lombok.RequiredArgsConstructor;
@@ -25,7 +28,8 @@ public class SecurityConfig {
         private static final String PATHAPIID = "/api/products/{id}";
 
         @Bean
-        SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        SecurityFilterChain securityFilterChain(HttpSecurity http,
+            @Value("${security.trusted-headers.secret:}") String trustedHeadersSecret) throws Exception {
                 return http
                                 .csrf(csrf -> csrf.disable())
                                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -37,14 +41,33 @@ public class SecurityConfig {
                                                 .authenticated()
                                                 .anyRequest().permitAll())
                                 .httpBasic(Customizer.withDefaults())
+                                // The default "no-cache, no-store" would keep every response out of the gateway
+                                // cache: the controllers set Cache-Control themselves when a response must not be stored
+                                .headers(headers -> headers.cacheControl(cacheControl -> cacheControl.disable()))
+                                // Identity verified by the gateway, when present the bearer token is not decoded again
+                                .addFilterBefore(new TrustedHeaderAuthenticationFilter(trustedHeadersSecret, jwtAuthenticationConverter()),
+                                        BearerTokenAuthenticationFilter.class)
                                 .oauth2ResourceServer(oauth2 -> oauth2
+                                        .bearerTokenResolver(bearerTokenResolver())
                                         .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
                                 .build();
         }
 
+        /**
+         * Skips the bearer token of requests already authenticated from the gateway headers
+         */
+        private static BearerTokenResolver bearerTokenResolver() {
+                DefaultBearerTokenResolver defaultResolver = new DefaultBearerTokenResolver();
+                return request -> request.getAttribute(TrustedHeaderAuthenticationFilter.AUTHENTICATED_ATTRIBUTE) != null
+                                ? null
+                                : defaultResolver.resolve(request);
+        }
+
         @Bean
-        JwtDecoder jwtDecoder() {
-                return NimbusJwtDecoder.withPublicKey(rsaKeysConfig.publicKey()).build();
+        CachingJwtDecoder jwtDecoder(@Value("${security.jwt.cache.maximum-size:10000}") long maximumSize) {
+                // The RSA verification is done once per token, then served from the cache until exp;
+                // the decoder also publishes the cache metrics
+                return new CachingJwtDecoder(NimbusJwtDecoder.withPublicKey(rsaKeysConfig.publicKey()).build(), maximumSize);
         }
 
         @Bean
@@ -1,12 +1,38 @@
 package sn.dev.product_service.data.entities;
 
-import lombok.AllArgsConstructor;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
-@AllArgsConstructor
+@NoArgsConstructor
 public class Media {
     private String id;
     private String imageUrl;
     private String productId;
+    /**
+     * Resized copies of the image keyed by width in pixels ("200", "600", "1200"),
+     * null until media-service has generated them
+     */
+    private Map<String, String> variants;
+    /**
+     * Set by media-service on upload: false when the product already had this image, which a
+     * rollback must then leave in place. Read from media-service, never sent to the clients.
+     */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private boolean created;
+
+    public Media(String id, String imageUrl, String productId) {
+        this(id, imageUrl, productId, null);
+    }
+
+    public Media(String id, String imageUrl, String productId, Map<String, String> variants) {
+        this.id = id;
+        this.imageUrl = imageUrl;
+        this.productId = productId;
+        this.variants = variants;
+    }
 }
@@ -3,6 +3,8 @@ package sn.dev.product_service.data.entities;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import lombok.NoArgsConstructor;
@@ -11,6 +13,12 @@ import lombok.NoArgsConstructor;
 @Setter
 @NoArgsConstructor
 @Document(collection = "products")
+@CompoundIndexes({
+        // findByUserId/deleteByUserId, the seller's products in _id order
+        @CompoundIndex(name = "user_id_idx", def = "{'userId': 1, '_id': 1}"),
+        // /paged?sort=price, ties broken by _id
+        @CompoundIndex(name = "price_id_idx", def = "{'price': 1, '_id': 1}")
+})
 public class Product {
     @Id
     private String id;
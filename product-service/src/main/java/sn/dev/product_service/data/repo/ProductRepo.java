@@ -1,7 +1,9 @@
 package sn.dev.product_service.data.repo;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import sn.dev.product_service.data.entities.Product;
@@ -9,5 +11,11 @@ import sn.dev.product_service.data.entities.Product;
 public interface ProductRepo extends MongoRepository<Product, String> {
     List<Product> findByUserId(String userId);
     void deleteByUserId(String userId);
-    
+
+    // Keyset pagination on _id: no count query and no skip, the cost stays flat whatever the page
+    List<Product> findAllBy(Pageable pageable);
+    List<Product> findByIdGreaterThan(String id, Pageable pageable);
+
+    // Backed by a Mongo cursor, documents are fetched batch by batch while the stream is consumed
+    Stream<Product> streamAllBy();
 }
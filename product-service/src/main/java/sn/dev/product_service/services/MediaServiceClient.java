@@ -1,6 +1,8 @@
 package sn.dev.product_service.services;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.MediaType;
@@ -8,14 +10,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.multipart.MultipartFile;
 
 import sn.dev.product_service.config.FeignSupportConfig;
 import sn.dev.product_service.data.entities.Media;
 
-@FeignClient(name = "media-service", url = "${media.service.url}", configuration = FeignSupportConfig.class)
+@FeignClient(name = "media-service", url = "${media.service.url}", configuration = FeignSupportConfig.class,
+        fallbackFactory = MediaServiceClientFallbackFactory.class)
 public interface MediaServiceClient {
     @PutMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     Media upload(@RequestPart("file") MultipartFile file, @RequestPart("productId") String productId);
@@ -23,6 +28,12 @@ public interface MediaServiceClient {
     @GetMapping("/product/{productId}")
     ResponseEntity<List<Media>> getByProductId(@PathVariable String productId);
 
+    @PostMapping(value = "/products", consumes = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<Map<String, List<Media>>> getByProductIds(@RequestBody Set<String> productIds);
+
+    @DeleteMapping("/{id}")
+    ResponseEntity<Void> deleteById(@PathVariable String id);
+
     @DeleteMapping("/product/{productId}")
     ResponseEntity<Void> deleteByProductId(@PathVariable String productId);
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package sn.dev.product_service.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import feign.FeignException;
+import sn.dev.product_service.data.entities.Media;
+
+/**
+ * Used when a media-service call fails, times out, or is refused by the open circuit or the
+ * full bulkhead. Reads degrade to products without images so the catalogue still answers;
+ * writes (upload, delete) cannot be faked and fail, as before, with the media-service error
+ * or a 503.
+ * Degraded reads carry the DEGRADED header: the fallback runs on the bulkhead thread, away from
+ * the request, so it is up to the controller to keep such answers out of the caches.
+ */
+@Component
+public class MediaServiceClientFallbackFactory implements FallbackFactory<MediaServiceClient> {
+    public static final String DEGRADED = "X-Media-Degraded";
+
+    @Override
+    public MediaServiceClient create(Throwable cause) {
+        return new MediaServiceClient() {
+            @Override
+            public Media upload(MultipartFile file, String productId) {
+                throw unavailable(cause);
+            }
+
+            @Override
+            public ResponseEntity<List<Media>> getByProductId(String productId) {
+                System.out.println("Media of product " + productId + " unavailable, served without images: " + describe(cause));
+                return ResponseEntity.ok().header(DEGRADED, "true").body(List.of());
+            }
+
+            @Override
+            public ResponseEntity<Map<String, List<Media>>> getByProductIds(Set<String> productIds) {
+                System.out.println("Media of " + productIds.size() + " products unavailable, served without images: " + describe(cause));
+                return ResponseEntity.ok().header(DEGRADED, "true").body(Map.of());
+            }
+
+            @Override
+            public ResponseEntity<Void> deleteById(String id) {
+                throw unavailable(cause);
+            }
+
+            @Override
+            public ResponseEntity<Void> deleteByProductId(String productId) {
+                throw unavailable(cause);
+            }
+        };
+    }
+
+    private static RuntimeException unavailable(Throwable cause) {
+        // An answer from media-service (e.g. 400 on an invalid image) keeps its status
+        if (cause instanceof FeignException feignException) {
+            return feignException;
+        }
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Media service unavailable", cause);
+    }
+
+    private static String describe(Throwable cause) {
+        return cause.getClass().getSimpleName() + (cause.getMessage() != null ? " " + cause.getMessage() : "");
+    }
+}
@@ -0,0 +1,15 @@
+package sn.dev.product_service.services;
+
+import java.util.List;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import sn.dev.product_service.data.entities.Media;
+
+public interface MediaUploadService {
+    /**
+     * Uploads all the files concurrently and returns the medias in the order of the files.
+     * If one upload fails the ones that succeeded are deleted and the first failure is rethrown.
+     */
+    List<Media> uploadAll(List<MultipartFile> files, String productId);
+}
@@ -0,0 +1,8 @@
+package sn.dev.product_service.services;
+
+/**
+ * Full-text query over name and description, narrowed by the price and seller facets.
+ * Every criterion is optional; page is 0-based.
+ */
+public record ProductSearchQuery(String text, Double minPrice, Double maxPrice, String sellerId, int page, int size) {
+}
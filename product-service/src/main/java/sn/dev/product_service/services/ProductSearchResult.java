@@ -0,0 +1,15 @@
+package sn.dev.product_service.services;
+
+import java.util.List;
+import java.util.Map;
+
+import sn.dev.product_service.data.entities.Product;
+
+/**
+ * One page of hits, best match first, with the facet counts of the whole result set. Each facet
+ * is counted with the other facet's filter applied but not its own, so the client can offer
+ * every alternative value.
+ */
+public record ProductSearchResult(List<Product> products, long totalElements,
+        Map<String, Long> priceFacets, Map<String, Long> sellerFacets) {
+}
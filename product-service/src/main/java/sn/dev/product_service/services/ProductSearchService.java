@@ -0,0 +1,15 @@
+package sn.dev.product_service.services;
+
+import sn.dev.product_service.data.entities.Product;
+
+public interface ProductSearchService {
+    ProductSearchResult search(ProductSearchQuery query);
+
+    void index(Product product);
+
+    void remove(String productId);
+
+    void removeByUserId(String userId);
+
+    void rebuild();
+}
@@ -1,6 +1,10 @@
 package sn.dev.product_service.services;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import sn.dev.product_service.data.entities.Product;
 
@@ -15,6 +19,12 @@ public interface ProductService {
 
     List<Product> getAll();
 
+    Page<Product> getPage(Pageable pageable);
+
+    List<Product> getAfter(String cursor, int size);
+
+    Stream<Product> streamAll();
+
     void delete(Product product);
 
     void deleteByUserId(String userId);
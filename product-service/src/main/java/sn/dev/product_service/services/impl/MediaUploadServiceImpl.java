@@ -0,0 +1,107 @@
+package sn.dev.product_service.services.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import sn.dev.product_service.data.entities.Media;
+import sn.dev.product_service.services.MediaServiceClient;
+import sn.dev.product_service.services.MediaUploadService;
+
+@Service
+public class MediaUploadServiceImpl implements MediaUploadService {
+    private final MediaServiceClient mediaServiceClient;
+    private final ExecutorService mediaUploadExecutor;
+    // Shared by all requests so a burst of product creations can't flood media-service
+    private final Semaphore uploadPermits;
+
+    public MediaUploadServiceImpl(MediaServiceClient mediaServiceClient,
+            @Qualifier("mediaUploadExecutor") ExecutorService mediaUploadExecutor,
+            @Value("${media.upload.max-concurrency:8}") int maxConcurrency) {
+        this.mediaServiceClient = mediaServiceClient;
+        this.mediaUploadExecutor = mediaUploadExecutor;
+        this.uploadPermits = new Semaphore(maxConcurrency);
+    }
+
+    @Override
+    public List<Media> uploadAll(List<MultipartFile> files, String productId) {
+        if (files == null || files.isEmpty()) {
+            return List.of();
+        }
+
+        List<Future<Media>> futures = files.stream()
+                .map(file -> mediaUploadExecutor.submit(() -> upload(file, productId)))
+                .toList();
+
+        // Wait for every upload, even after a failure, so we know exactly what to roll back
+        List<Media> uploaded = new ArrayList<>(files.size());
+        RuntimeException failure = null;
+        for (Future<Media> future : futures) {
+            try {
+                uploaded.add(future.get());
+            } catch (ExecutionException e) {
+                failure = keepFirst(failure, toRuntimeException(e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = keepFirst(failure, new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE, "Image upload interrupted", e));
+            }
+        }
+
+        if (failure != null) {
+            rollback(uploaded);
+            throw failure;
+        }
+        return uploaded;
+    }
+
+    private Media upload(MultipartFile file, String productId) throws InterruptedException {
+        uploadPermits.acquire();
+        try {
+            return mediaServiceClient.upload(file, productId);
+        } finally {
+            uploadPermits.release();
+        }
+    }
+
+    /**
+     * Deletes the media this call attached, not those the product already had (same image sent again)
+     */
+    private void rollback(List<Media> uploaded) {
+        for (Media media : uploaded) {
+            if (!media.isCreated()) {
+                continue;
+            }
+            try {
+                mediaServiceClient.deleteById(media.getId());
+            } catch (RuntimeException e) {
+                System.out.println("Failed to roll back media " + media.getId() + " : " + e.getMessage());
+            }
+        }
+    }
+
+    private static RuntimeException keepFirst(RuntimeException first, RuntimeException next) {
+        if (first == null) {
+            return next;
+        }
+        first.addSuppressed(next);
+        return first;
+    }
+
+    private static RuntimeException toRuntimeException(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Image upload failed", cause);
+    }
+}
@@ -0,0 +1,321 @@
+package sn.dev.product_service.services.impl;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import sn.dev.product_service.data.entities.Product;
+import sn.dev.product_service.data.repo.ProductRepo;
+import sn.dev.product_service.services.ProductSearchQuery;
+import sn.dev.product_service.services.ProductSearchResult;
+import sn.dev.product_service.services.ProductSearchService;
+
+/**
+ * In-memory inverted index over the product name and description, ranked with BM25.
+ * Terms are lower-cased and stripped of accents; a name match weighs as much as
+ * {@value #NAME_BOOST} description matches, and the last query term also matches as a prefix
+ * (search as you type) at a lower weight.
+ * The index is loaded from Mongo at startup, kept in sync by the writes of this instance and
+ * rebuilt periodically to pick up the writes of the other instances.
+ */
+@Service
+public class ProductSearchServiceImpl implements ProductSearchService {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_BOOST = 3;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // English and French, the languages of the catalogue
+    private static final Set<String> STOP_WORDS = Set.of("the", "and", "or", "of", "for", "with", "in", "on", "to",
+            "an", "de", "la", "le", "les", "et", "des", "du", "un", "une", "pour", "avec", "en", "au", "aux");
+
+    private final ProductRepo productRepo;
+    private final double[] priceBounds;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Writes made while a rebuild reads Mongo, replayed on the new index before it replaces the old one
+    private List<Consumer<Index>> pendingDuringRebuild;
+
+    public ProductSearchServiceImpl(ProductRepo productRepo,
+            @Value("${search.facets.price-ranges:0,25,50,100,500}") double[] priceBounds) {
+        this.productRepo = productRepo;
+        this.priceBounds = Arrays.stream(priceBounds).sorted().toArray();
+    }
+
+    @Override
+    public ProductSearchResult search(ProductSearchQuery query) {
+        List<String> terms = tokenize(query.text());
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = terms.isEmpty() ? null : score(terms);
+            Iterable<Entry> candidates = scores == null
+                    ? index.documents.values()
+                    : scores.keySet().stream().map(index.documents::get).toList();
+
+            List<Entry> matches = new ArrayList<>();
+            Map<String, Long> priceFacets = emptyPriceFacets();
+            Map<String, Long> sellerFacets = new HashMap<>();
+            for (Entry entry : candidates) {
+                Product product = entry.product();
+                boolean priceMatches = inPriceRange(product.getPrice(), query);
+                boolean sellerMatches = query.sellerId() == null || query.sellerId().equals(product.getUserId());
+                if (sellerMatches && product.getPrice() != null) {
+                    priceFacets.merge(priceBucket(product.getPrice()), 1L, Long::sum);
+                }
+                if (priceMatches && product.getUserId() != null) {
+                    sellerFacets.merge(product.getUserId(), 1L, Long::sum);
+                }
+                if (priceMatches && sellerMatches) {
+                    matches.add(entry);
+                }
+            }
+
+            Comparator<Entry> byId = Comparator.comparing(entry -> entry.product().getId());
+            matches.sort(scores == null
+                    ? byId
+                    : Comparator.<Entry>comparingDouble(entry -> scores.get(entry.product().getId())).reversed().thenComparing(byId));
+            List<Product> page = matches.stream()
+                    .skip((long) query.page() * query.size())
+                    .limit(query.size())
+                    .map(entry -> copy(entry.product()))
+                    .toList();
+
+            return new ProductSearchResult(page, matches.size(), priceFacets, sortByCount(sellerFacets));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Product product) {
+        Product indexed = copy(product);
+        mutate(target -> target.add(indexed));
+    }
+
+    @Override
+    public void remove(String productId) {
+        mutate(target -> target.remove(productId));
+    }
+
+    @Override
+    public void removeByUserId(String userId) {
+        mutate(target -> target.removeByUserId(userId));
+    }
+
+    @Override
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingDuringRebuild != null) {
+                // Another rebuild is already running
+                return;
+            }
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        boolean complete = false;
+        try (Stream<Product> products = productRepo.streamAllBy()) {
+            products.forEach(rebuilt::add);
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (complete) {
+                    pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+                    index = rebuilt;
+                }
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        System.out.println("Search index rebuilt with " + rebuilt.documents.size() + " products");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        Thread.ofVirtual().name("search-index-bootstrap").start(this::refresh);
+    }
+
+    @Scheduled(initialDelayString = "${search.index.refresh-interval:10m}", fixedDelayString = "${search.index.refresh-interval:10m}")
+    public void refresh() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            System.out.println("Could not rebuild the search index: " + e.getMessage());
+        }
+    }
+
+    private void mutate(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 score of every product containing at least one of the terms
+     */
+    private Map<String, Double> score(List<String> terms) {
+        Map<String, Double> scores = new HashMap<>();
+        int documentCount = index.documents.size();
+        double averageLength = documentCount == 0 ? 0 : (double) index.totalLength / documentCount;
+
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            NavigableMap<String, Map<String, Integer>> matching = i == terms.size() - 1
+                    ? index.postings.subMap(term, true, term + Character.MAX_VALUE, true)
+                    : index.postings.subMap(term, true, term, true);
+
+            for (Map.Entry<String, Map<String, Integer>> posting : matching.entrySet()) {
+                double weight = posting.getKey().equals(term) ? 1 : PREFIX_WEIGHT;
+                int documentFrequency = posting.getValue().size();
+                double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                for (Map.Entry<String, Integer> hit : posting.getValue().entrySet()) {
+                    int frequency = hit.getValue();
+                    int length = index.documents.get(hit.getKey()).length();
+                    double saturation = frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+                    scores.merge(hit.getKey(), weight * idf * saturation, Double::sum);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static boolean inPriceRange(Double price, ProductSearchQuery query) {
+        if (query.minPrice() == null && query.maxPrice() == null) {
+            return true;
+        }
+        return price != null
+                && (query.minPrice() == null || price >= query.minPrice())
+                && (query.maxPrice() == null || price <= query.maxPrice());
+    }
+
+    private Map<String, Long> emptyPriceFacets() {
+        Map<String, Long> facets = new LinkedHashMap<>();
+        for (int i = 0; i < priceBounds.length; i++) {
+            facets.put(priceLabel(i), 0L);
+        }
+        return facets;
+    }
+
+    private String priceBucket(double price) {
+        int bucket = 0;
+        while (bucket < priceBounds.length - 1 && price >= priceBounds[bucket + 1]) {
+            bucket++;
+        }
+        return priceLabel(bucket);
+    }
+
+    private String priceLabel(int bucket) {
+        String from = format(priceBounds[bucket]);
+        return bucket == priceBounds.length - 1 ? from + "+" : from + "-" + format(priceBounds[bucket + 1]);
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) ? String.valueOf((long) bound) : String.valueOf(bound);
+    }
+
+    private static Map<String, Long> sortByCount(Map<String, Long> facets) {
+        return facets.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+                .replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (token.length() >= 2 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // The index keeps its own copies, callers may go on mutating the entities they pass or get
+    private static Product copy(Product product) {
+        Product copy = new Product(product.getName(), product.getDescription(), product.getPrice(),
+                product.getQuantity(), product.getUserId());
+        copy.setId(product.getId());
+        return copy;
+    }
+
+    private record Entry(Product product, Map<String, Integer> frequencies, int length) {
+    }
+
+    private static final class Index {
+        private final NavigableMap<String, Map<String, Integer>> postings = new TreeMap<>();
+        private final Map<String, Entry> documents = new HashMap<>();
+        private long totalLength;
+
+        void add(Product product) {
+            remove(product.getId());
+            Map<String, Integer> frequencies = new HashMap<>();
+            tokenize(product.getName()).forEach(term -> frequencies.merge(term, NAME_BOOST, Integer::sum));
+            tokenize(product.getDescription()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+            documents.put(product.getId(), new Entry(product, frequencies, length));
+            totalLength += length;
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(product.getId(), frequency));
+        }
+
+        void remove(String productId) {
+            Entry entry = documents.remove(productId);
+            if (entry == null) {
+                return;
+            }
+            totalLength -= entry.length();
+            for (String term : entry.frequencies().keySet()) {
+                Map<String, Integer> posting = postings.get(term);
+                posting.remove(productId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+
+        void removeByUserId(String userId) {
+            documents.values().stream()
+                    .filter(entry -> userId.equals(entry.product().getUserId()))
+                    .map(entry -> entry.product().getId())
+                    .toList()
+                    .forEach(this::remove);
+        }
+    }
+}
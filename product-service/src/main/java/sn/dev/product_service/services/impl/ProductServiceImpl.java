@@ -1,32 +1,73 @@
 package sn.dev.product_service.services.impl;
 
 import java.util.List;
+import java.util.stream.Stream;
+
+import static sn.dev.product_service.config.CacheConfig.PRODUCTS_CACHE;
+import static sn.dev.product_service.config.CacheConfig.PRODUCT_LIST_CACHE;
 
 import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import sn.dev.product_service.data.entities.Product;
 import sn.dev.product_service.data.repo.ProductRepo;
+import sn.dev.product_service.services.ProductSearchService;
 import sn.dev.product_service.services.ProductService;
 
 @Service
 @AllArgsConstructor
 public class ProductServiceImpl implements ProductService {
     private final ProductRepo productRepo;
+    private final ProductSearchService productSearchService;
 
     @Override
+    @CacheEvict(value = PRODUCT_LIST_CACHE, allEntries = true)
     public Product create(Product product) {
-        return productRepo.save(product);
+        Product saved = productRepo.save(product);
+        productSearchService.index(saved);
+        return saved;
     }
 
     @Override
+    @Cacheable(value = PRODUCT_LIST_CACHE, key = "'all'")
     public List<Product> getAll() {
         return productRepo.findAll();
     }
 
     @Override
+    public Page<Product> getPage(Pageable pageable) {
+        return productRepo.findAll(pageable);
+    }
+
+    @Override
+    public List<Product> getAfter(String cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.ASC, "id"));
+        if (cursor == null || cursor.isBlank()) {
+            return productRepo.findAllBy(pageable);
+        }
+        if (!ObjectId.isValid(cursor)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor: " + cursor);
+        }
+        return productRepo.findByIdGreaterThan(cursor, pageable);
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return productRepo.streamAllBy();
+    }
+
+    @Override
+    @Cacheable(value = PRODUCTS_CACHE, key = "#id")
     public Product getById(String id) {
         return productRepo.findById(id)
                 .orElseThrow(
@@ -39,17 +80,34 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = PRODUCTS_CACHE, key = "#product.id"),
+            @CacheEvict(value = PRODUCT_LIST_CACHE, allEntries = true)
+    })
     public Product update(Product product) {
-        return productRepo.save(product);
+        Product saved = productRepo.save(product);
+        productSearchService.index(saved);
+        return saved;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = PRODUCTS_CACHE, key = "#product.id"),
+            @CacheEvict(value = PRODUCT_LIST_CACHE, allEntries = true)
+    })
     public void delete(Product product) {
         productRepo.delete(product);
+        productSearchService.remove(product.getId());
     }
 
     @Override
+    @Caching(evict = {
+            // The ids of the deleted products are not known here
+            @CacheEvict(value = PRODUCTS_CACHE, allEntries = true),
+            @CacheEvict(value = PRODUCT_LIST_CACHE, allEntries = true)
+    })
     public void deleteByUserId(String userId) {
         productRepo.deleteByUserId(userId);
+        productSearchService.removeByUserId(userId);
     }
 }
@@ -2,6 +2,8 @@ package sn.dev.product_service.web.controllers;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,11 +13,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import sn.dev.product_service.web.dto.CursorPageResponseDTO;
+import sn.dev.product_service.web.dto.PageResponseDTO;
 import sn.dev.product_service.web.dto.ProductCreateDTO;
 import sn.dev.product_service.web.dto.ProductResponseDTO;
 import sn.dev.product_service.web.dto.ProductUpdateDTO;
+import sn.dev.product_service.web.dto.SearchResponseDTO;
 
 @RequestMapping("/api/products")
 public interface ProductController {
@@ -26,6 +33,27 @@ public interface ProductController {
     @GetMapping
     ResponseEntity<List<ProductResponseDTO>> getAll();
 
+    @GetMapping("/paged")
+    ResponseEntity<PageResponseDTO<ProductResponseDTO>> getPage(
+            @PageableDefault(size = 20, sort = "id") Pageable pageable);
+
+    @GetMapping("/cursor")
+    ResponseEntity<CursorPageResponseDTO<ProductResponseDTO>> getAfter(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size);
+
+    @GetMapping("/search")
+    ResponseEntity<SearchResponseDTO<ProductResponseDTO>> search(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String seller,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size);
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    ResponseEntity<StreamingResponseBody> export();
+
     @GetMapping("/{id}")
     ResponseEntity<ProductResponseDTO> getById(@PathVariable String id);
 
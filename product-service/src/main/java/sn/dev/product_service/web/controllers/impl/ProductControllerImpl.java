@@ -1,33 +1,71 @@
 package sn.dev.product_service.web.controllers.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import sn.dev.product_service.data.entities.Media;
 import sn.dev.product_service.data.entities.Product;
 import sn.dev.product_service.services.MediaServiceClient;
+import sn.dev.product_service.services.MediaServiceClientFallbackFactory;
+import sn.dev.product_service.services.MediaUploadService;
+import sn.dev.product_service.services.ProductSearchQuery;
+import sn.dev.product_service.services.ProductSearchResult;
+import sn.dev.product_service.services.ProductSearchService;
 import sn.dev.product_service.services.ProductService;
 import sn.dev.product_service.web.controllers.ProductController;
+import sn.dev.product_service.web.dto.CursorPageResponseDTO;
+import sn.dev.product_service.web.dto.PageResponseDTO;
 import sn.dev.product_service.web.dto.ProductCreateDTO;
 import sn.dev.product_service.web.dto.ProductResponseDTO;
 import sn.dev.product_service.web.dto.ProductUpdateDTO;
+import sn.dev.product_service.web.dto.SearchResponseDTO;
 
 @RestController
 @RequiredArgsConstructor
 public class ProductControllerImpl implements ProductController {
 
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
     private final MediaServiceClient mediaServiceClient;
+    private final MediaUploadService mediaUploadService;
+    private final ObjectMapper objectMapper;
     private String maxAge = "300";
     private static final String USERIDSTR = "userID";
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_CHUNK_SIZE = 200;
+    private static final String NO_STORE = "no-store";
+
+    /**
+     * Products with their medias; degraded when media-service did not answer
+     * and they come without images. Such responses are sent as no-store
+     * (gateway, browsers) so the next request gets the images once it is back.
+     */
+    private record ProductResponses(
+        List<ProductResponseDTO> products,
+        boolean degraded
+    ) {}
 
     @Override
     public ResponseEntity<ProductResponseDTO> create(
@@ -43,11 +81,17 @@ public class ProductControllerImpl implements ProductController {
         Product product = productService.create(
             productCreateDTO.toProduct(userId)
         );
-        List<Media> medias = productCreateDTO
-            .getImages()
-            .stream()
-            .map(file -> mediaServiceClient.upload(file, product.getId()))
-            .toList();
+        List<Media> medias;
+        try {
+            medias = mediaUploadService.uploadAll(
+                productCreateDTO.getImages(),
+                product.getId()
+            );
+        } catch (RuntimeException e) {
+            // Don't leave a product without its images behind
+            productService.delete(product);
+            throw e;
+        }
 
         return ResponseEntity.status(HttpStatus.CREATED)
             .header(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAge)
@@ -59,18 +103,114 @@ public class ProductControllerImpl implements ProductController {
         System.out.println("GET(getAll) products");
 
         List<Product> products = productService.getAll();
-        List<ProductResponseDTO> responseList = products
-            .stream()
-            .map(product -> {
-                List<Media> medias = mediaServiceClient
-                    .getByProductId(product.getId())
-                    .getBody();
+        ProductResponses responses = toResponses(products);
+
+        return ResponseEntity.ok()
+            .cacheControl(
+                responses.degraded() ? CacheControl.noStore() : CacheControl.empty()
+            )
+            .body(responses.products());
+    }
 
-                return new ProductResponseDTO(product, medias);
-            })
-            .toList();
+    @Override
+    public ResponseEntity<PageResponseDTO<ProductResponseDTO>> getPage(
+        Pageable pageable
+    ) {
+        System.out.println("GET(page) products : " + pageable);
 
-        return ResponseEntity.ok(responseList);
+        Page<Product> page = productService.getPage(pageable);
+        ProductResponses responses = toResponses(page.getContent());
+
+        return ResponseEntity.ok()
+            .cacheControl(
+                responses.degraded() ? CacheControl.noStore() : CacheControl.empty()
+            )
+            .body(new PageResponseDTO<>(page, responses.products()));
+    }
+
+    @Override
+    public ResponseEntity<CursorPageResponseDTO<ProductResponseDTO>> getAfter(
+        String after,
+        int size
+    ) {
+        System.out.println("GET(cursor) products after : " + after);
+
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<Product> products = productService.getAfter(after, pageSize);
+        String nextCursor = products.size() < pageSize
+            ? null
+            : products.get(products.size() - 1).getId();
+        ProductResponses responses = toResponses(products);
+
+        return ResponseEntity.ok()
+            .cacheControl(
+                responses.degraded() ? CacheControl.noStore() : CacheControl.empty()
+            )
+            .body(
+                new CursorPageResponseDTO<>(
+                    responses.products(),
+                    pageSize,
+                    nextCursor
+                )
+            );
+    }
+
+    @Override
+    public ResponseEntity<SearchResponseDTO<ProductResponseDTO>> search(
+        String q,
+        Double minPrice,
+        Double maxPrice,
+        String seller,
+        int page,
+        int size
+    ) {
+        System.out.println("GET(search) products : " + q);
+
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        ProductSearchResult result = productSearchService.search(
+            new ProductSearchQuery(q, minPrice, maxPrice, seller, pageNumber, pageSize)
+        );
+        ProductResponses responses = toResponses(result.products());
+
+        return ResponseEntity.ok()
+            .cacheControl(
+                responses.degraded() ? CacheControl.noStore() : CacheControl.empty()
+            )
+            .body(
+                new SearchResponseDTO<>(
+                    result,
+                    responses.products(),
+                    pageNumber,
+                    pageSize
+                )
+            );
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> export() {
+        System.out.println("GET(export) products");
+
+        // Products are written while the Mongo cursor yields them, medias are
+        // resolved per chunk so memory stays bounded whatever the catalogue size
+        StreamingResponseBody body = out -> {
+            try (Stream<Product> products = productService.streamAll()) {
+                Iterator<Product> iterator = products.iterator();
+                List<Product> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+                while (iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                        writeNdjson(out, chunk);
+                        chunk.clear();
+                    }
+                }
+                writeNdjson(out, chunk);
+            }
+        };
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
     }
 
     @Override
@@ -78,9 +218,13 @@ public class ProductControllerImpl implements ProductController {
         System.out.println("GET(product by id) product with id: " + id);
 
         Product product = productService.getById(id);
-        List<Media> medias = mediaServiceClient.getByProductId(id).getBody();
+        ResponseEntity<List<Media>> medias = mediaServiceClient.getByProductId(id);
 
-        return ResponseEntity.ok(new ProductResponseDTO(product, medias));
+        return ResponseEntity.ok()
+            .cacheControl(
+                degraded(medias) ? CacheControl.noStore() : CacheControl.empty()
+            )
+            .body(new ProductResponseDTO(product, medias.getBody()));
     }
 
     @Override
@@ -103,40 +247,33 @@ public class ProductControllerImpl implements ProductController {
             );
         }
 
-        Product productToUpdate = productUpdateDTO.toProduct(userId);
-        productToUpdate.setId(id);
-
-        Product updatedProduct = productService.update(productToUpdate);
-
-        // Handle new images if provided
-        if (
-            productUpdateDTO.getImages() != null &&
-            !productUpdateDTO.getImages().isEmpty()
-        ) {
+        // Upload new images first so a failed upload leaves the product untouched
+        if (!productUpdateDTO.getImages().isEmpty()) {
             System.out.println(
                 "Uploading " +
                 productUpdateDTO.getImages().size() +
                 " new images for product " +
                 id
             );
-            productUpdateDTO
-                .getImages()
-                .forEach(file -> {
-                    System.out.println(
-                        "Uploading image: " + file.getOriginalFilename()
-                    );
-                    mediaServiceClient.upload(file, updatedProduct.getId());
-                });
+            mediaUploadService.uploadAll(productUpdateDTO.getImages(), id);
         }
 
+        Product productToUpdate = productUpdateDTO.toProduct(userId);
+        productToUpdate.setId(id);
+
+        Product updatedProduct = productService.update(productToUpdate);
+
         // Get all medias (existing + newly uploaded)
-        List<Media> medias = mediaServiceClient
-            .getByProductId(updatedProduct.getId())
-            .getBody();
+        ResponseEntity<List<Media>> medias = mediaServiceClient.getByProductId(
+            updatedProduct.getId()
+        );
 
         return ResponseEntity.ok()
-            .header(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAge)
-            .body(new ProductResponseDTO(updatedProduct, medias));
+            .header(
+                HttpHeaders.CACHE_CONTROL,
+                degraded(medias) ? NO_STORE : "public, max-age=" + maxAge
+            )
+            .body(new ProductResponseDTO(updatedProduct, medias.getBody()));
     }
 
     @Override
@@ -161,4 +298,55 @@ public class ProductControllerImpl implements ProductController {
 
         return ResponseEntity.noContent().build();
     }
+
+    private void writeNdjson(OutputStream out, List<Product> products)
+        throws IOException {
+        for (ProductResponseDTO dto : toResponses(products).products()) {
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Resolves the medias of all given products with a single batch call to the
+     * media-service instead of one call per product.
+     */
+    private ProductResponses toResponses(List<Product> products) {
+        if (products.isEmpty()) {
+            return new ProductResponses(List.of(), false);
+        }
+
+        Set<String> productIds = products
+            .stream()
+            .map(Product::getId)
+            .collect(Collectors.toSet());
+        ResponseEntity<Map<String, List<Media>>> medias =
+            mediaServiceClient.getByProductIds(productIds);
+        Map<String, List<Media>> mediasByProduct = medias.getBody();
+
+        return new ProductResponses(
+            products
+                .stream()
+                .map(product ->
+                    new ProductResponseDTO(
+                        product,
+                        mediasByProduct == null
+                            ? List.of()
+                            : mediasByProduct.getOrDefault(product.getId(), List.of())
+                    )
+                )
+                .toList(),
+            degraded(medias)
+        );
+    }
+
+    /**
+     * Whether a media-service read came from the fallback, without the medias
+     */
+    private static boolean degraded(ResponseEntity<?> medias) {
+        return medias.getHeaders().containsKey(
+            MediaServiceClientFallbackFactory.DEGRADED
+        );
+    }
 }
@@ -0,0 +1,21 @@
+package sn.dev.product_service.web.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class CursorPageResponseDTO<T> {
+    private List<T> content;
+    private int size;
+    /**
+     * Value to pass as {@code after} to get the next page, null when this is the last one
+     */
+    private String nextCursor;
+
+    public CursorPageResponseDTO(List<T> content, int size, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,23 @@
+package sn.dev.product_service.web.dto;
+
+import java.util.List;
+
+import lombok.Data;
+import org.springframework.data.domain.Page;
+
+@Data
+public class PageResponseDTO<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+
+    public PageResponseDTO(Page<?> page, List<T> content) {
+        this.content = content;
+        this.page = page.getNumber();
+        this.size = page.getSize();
+        this.totalElements = page.getTotalElements();
+        this.totalPages = page.getTotalPages();
+    }
+}
@@ -0,0 +1,30 @@
+package sn.dev.product_service.web.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+import sn.dev.product_service.services.ProductSearchResult;
+
+@Data
+public class SearchResponseDTO<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    /**
+     * Number of matching products per price range ("price") and per seller ("seller"), each
+     * facet counted with the other filters applied but not its own
+     */
+    private Map<String, Map<String, Long>> facets;
+
+    public SearchResponseDTO(ProductSearchResult result, List<T> content, int page, int size) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.totalElements = result.totalElements();
+        this.totalPages = (int) ((result.totalElements() + size - 1) / size);
+        this.facets = Map.of("price", result.priceFacets(), "seller", result.sellerFacets());
+    }
+}
@@ -0,0 +1,98 @@
+package sn.dev.product_service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JAutoConfiguration;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.springboot3.bulkhead.autoconfigure.BulkheadAutoConfiguration;
+import io.github.resilience4j.springboot3.circuitbreaker.autoconfigure.CircuitBreakerAutoConfiguration;
+import io.github.resilience4j.springboot3.timelimiter.autoconfigure.TimeLimiterAutoConfiguration;
+import sn.dev.product_service.services.MediaServiceClient;
+import sn.dev.product_service.services.MediaServiceClientFallbackFactory;
+
+public class MediaServiceClientFallbackTest {
+
+    private final MediaServiceClientFallbackFactory fallbackFactory = new MediaServiceClientFallbackFactory();
+
+    @Test
+    void reads_degradeToNoImages() {
+        MediaServiceClient fallback = fallbackFactory.create(new TimeoutException());
+
+        assertTrue(fallback.getByProductId("1").getBody().isEmpty());
+        assertTrue(fallback.getByProductIds(Set.of("1", "2")).getBody().isEmpty());
+    }
+
+    @Test
+    void reads_markedDegraded() {
+        MediaServiceClient fallback = fallbackFactory.create(new TimeoutException());
+
+        assertTrue(fallback.getByProductId("1").getHeaders().containsKey(MediaServiceClientFallbackFactory.DEGRADED));
+        assertTrue(fallback.getByProductIds(Set.of("1")).getHeaders().containsKey(MediaServiceClientFallbackFactory.DEGRADED));
+    }
+
+    @Test
+    void writes_failWithServiceUnavailable() {
+        MediaServiceClient fallback = fallbackFactory.create(new TimeoutException());
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class, () -> fallback.deleteById("m1"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, error.getStatusCode());
+    }
+
+    @Test
+    void writes_keepMediaServiceAnswer() {
+        Request request = Request.create(Request.HttpMethod.PUT, "/api/media", new HashMap<>(), null,
+                StandardCharsets.UTF_8, null);
+        FeignException badRequest = new FeignException.BadRequest("Invalid image", request, null, null);
+        MediaServiceClient fallback = fallbackFactory.create(badRequest);
+
+        assertSame(badRequest, assertThrows(FeignException.BadRequest.class, () -> fallback.upload(null, "1")));
+    }
+
+    @Test
+    void timeLimiter_readsCutShortButUploadsGetLongerBudget() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(CircuitBreakerAutoConfiguration.class,
+                        TimeLimiterAutoConfiguration.class, BulkheadAutoConfiguration.class,
+                        Resilience4JAutoConfiguration.class))
+                .withPropertyValues(
+                        "resilience4j.timelimiter.configs.default.timeout-duration=100ms",
+                        "resilience4j.timelimiter.instances.MediaServiceClientuploadMultipartFileString.base-config=default",
+                        "resilience4j.timelimiter.instances.MediaServiceClientuploadMultipartFileString.timeout-duration=2s")
+                .run(context -> {
+                    CircuitBreakerFactory<?, ?> factory = context.getBean(CircuitBreakerFactory.class);
+
+                    String read = factory.create("MediaServiceClientgetByProductIdString")
+                            .run(() -> sleepThen("images", 500), error -> "fallback");
+                    String upload = factory.create("MediaServiceClientuploadMultipartFileString")
+                            .run(() -> sleepThen("uploaded", 500), error -> "fallback");
+
+                    assertEquals("fallback", read);
+                    assertEquals("uploaded", upload);
+                });
+    }
+
+    private static String sleepThen(String value, long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
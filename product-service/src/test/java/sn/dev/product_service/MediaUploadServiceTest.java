@@ -0,0 +1,132 @@
+package sn.dev.product_service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import sn.dev.product_service.data.entities.Media;
+import sn.dev.product_service.services.MediaServiceClient;
+import sn.dev.product_service.services.impl.MediaUploadServiceImpl;
+
+public class MediaUploadServiceTest {
+    private MediaServiceClient mediaServiceClient;
+    private ExecutorService executor;
+    private MediaUploadServiceImpl mediaUploadService;
+
+    @BeforeEach
+    void setUp() {
+        mediaServiceClient = mock(MediaServiceClient.class);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        mediaUploadService = new MediaUploadServiceImpl(mediaServiceClient, executor, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    private MultipartFile image(String name) {
+        return new MockMultipartFile("images", name, MediaType.IMAGE_PNG_VALUE,
+                name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testUploadAllRunsConcurrentlyAndKeepsOrder() {
+        MultipartFile image1 = image("image1.png");
+        MultipartFile image2 = image("image2.png");
+        MultipartFile image3 = image("image3.png");
+        // Every upload waits for the others, this only completes if they run at the same time
+        CountDownLatch allStarted = new CountDownLatch(3);
+
+        when(mediaServiceClient.upload(any(MultipartFile.class), eq("p1"))).thenAnswer(invocation -> {
+            allStarted.countDown();
+            assertTrue(allStarted.await(5, TimeUnit.SECONDS), "uploads did not run concurrently");
+            MultipartFile file = invocation.getArgument(0);
+            return new Media("m-" + file.getOriginalFilename(), file.getOriginalFilename(), "p1");
+        });
+
+        List<Media> medias = mediaUploadService.uploadAll(List.of(image1, image2, image3), "p1");
+
+        assertEquals(3, medias.size());
+        assertEquals("image1.png", medias.get(0).getImageUrl());
+        assertEquals("image2.png", medias.get(1).getImageUrl());
+        assertEquals("image3.png", medias.get(2).getImageUrl());
+
+        System.out.println("✅ PRODUCT/UPLOAD : testUploadAllRunsConcurrentlyAndKeepsOrder() passed successfully.");
+    }
+
+    @Test
+    void testUploadAllRollsBackOnPartialFailure() {
+        MultipartFile image1 = image("image1.png");
+        MultipartFile image2 = image("image2.png");
+        IllegalStateException failure = new IllegalStateException("media-service down");
+
+        when(mediaServiceClient.upload(image1, "p1")).thenReturn(created(new Media("m1", "image1.png", "p1")));
+        when(mediaServiceClient.upload(image2, "p1")).thenThrow(failure);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> mediaUploadService.uploadAll(List.of(image1, image2), "p1"));
+
+        assertSame(failure, thrown);
+        verify(mediaServiceClient).deleteById("m1");
+
+        System.out.println("✅ PRODUCT/UPLOAD : testUploadAllRollsBackOnPartialFailure() passed successfully.");
+    }
+
+    @Test
+    void testRollbackKeepsImagesTheProductAlreadyHad() {
+        MultipartFile existingImage = image("existing.png");
+        MultipartFile newImage = image("new.png");
+        MultipartFile failingImage = image("failing.png");
+
+        // media-service answers with the media already attached to the product, created=false
+        when(mediaServiceClient.upload(existingImage, "p1")).thenReturn(new Media("m-existing", "existing.png", "p1"));
+        when(mediaServiceClient.upload(newImage, "p1")).thenReturn(created(new Media("m-new", "new.png", "p1")));
+        when(mediaServiceClient.upload(failingImage, "p1")).thenThrow(new IllegalStateException("media-service down"));
+
+        assertThrows(IllegalStateException.class,
+                () -> mediaUploadService.uploadAll(List.of(existingImage, newImage, failingImage), "p1"));
+
+        verify(mediaServiceClient).deleteById("m-new");
+        verify(mediaServiceClient, never()).deleteById("m-existing");
+
+        System.out.println("✅ PRODUCT/UPLOAD : testRollbackKeepsImagesTheProductAlreadyHad() passed successfully.");
+    }
+
+    private static Media created(Media media) {
+        media.setCreated(true);
+        return media;
+    }
+
+    @Test
+    void testUploadAllWithoutFilesDoesNothing() {
+        List<Media> medias = mediaUploadService.uploadAll(List.of(), "p1");
+
+        assertTrue(medias.isEmpty());
+        verifyNoInteractions(mediaServiceClient);
+
+        System.out.println("✅ PRODUCT/UPLOAD : testUploadAllWithoutFilesDoesNothing() passed successfully.");
+    }
+}
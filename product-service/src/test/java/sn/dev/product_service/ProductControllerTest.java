@@ -1,16 +1,28 @@
 package sn.dev.product_service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,14 +33,22 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.multipart.MultipartFile;
 
 import sn.dev.product_service.data.entities.Media;
 import sn.dev.product_service.data.entities.Product;
 import sn.dev.product_service.services.MediaServiceClient;
+import sn.dev.product_service.services.MediaServiceClientFallbackFactory;
+import sn.dev.product_service.services.ProductSearchQuery;
+import sn.dev.product_service.services.ProductSearchResult;
+import sn.dev.product_service.services.ProductSearchService;
 import sn.dev.product_service.services.ProductService;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -42,6 +62,9 @@ public class ProductControllerTest {
     @MockitoBean
     private MediaServiceClient mediaServiceClient;
 
+    @MockitoBean
+    private ProductSearchService productSearchService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -62,8 +85,8 @@ public class ProductControllerTest {
 
         // Mock service responses
         when(productService.getAll()).thenReturn(List.of(product));
-        when(mediaServiceClient.getByProductId("1"))
-                .thenReturn(ResponseEntity.ok(List.of(media1, media2, media3)));
+        when(mediaServiceClient.getByProductIds(Set.of("1")))
+                .thenReturn(ResponseEntity.ok(Map.of("1", List.of(media1, media2, media3))));
 
         mockMvc.perform(get("/api/products"))
                 .andExpect(status().isOk())
@@ -72,12 +95,148 @@ public class ProductControllerTest {
                 .andExpect(jsonPath("$[0].images.length()").value(3))
                 .andExpect(jsonPath("$[0].images[0].imageUrl").value("image1.png"))
                 .andExpect(jsonPath("$[0].images[1].imageUrl").value("image2.png"))
-                .andExpect(jsonPath("$[0].images[2].imageUrl").value("image3.png"));
+                .andExpect(jsonPath("$[0].images[2].imageUrl").value("image3.png"))
+                // Left to the gateway cache
+                .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+
+        // One batch lookup, never the per-product endpoint
+        verify(mediaServiceClient, never()).getByProductId(anyString());
 
         System.out.println(
                 "✅ PRODUCT/CONTROLLER : testGetAllReturnsProductResponseDTOList() passed successfully.");
     }
 
+    @Test
+    @WithMockUser
+    void testGetAllReturnsEmptyImagesForProductsWithoutMedia() throws Exception {
+        Product product1 = new Product("1", "With Media");
+        Product product2 = new Product("2", "Without Media");
+        Media media1 = new Media("m1", "image1.png", "1", Map.of("200", "image1_200w.jpg"));
+
+        when(productService.getAll()).thenReturn(List.of(product1, product2));
+        when(mediaServiceClient.getByProductIds(Set.of("1", "2")))
+                .thenReturn(ResponseEntity.ok(Map.of("1", List.of(media1))));
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].images.length()").value(1))
+                .andExpect(jsonPath("$[0].images[0].variants['200']").value("image1_200w.jpg"))
+                .andExpect(jsonPath("$[1].name").value("Without Media"))
+                .andExpect(jsonPath("$[1].images").isArray())
+                .andExpect(jsonPath("$[1].images.length()").value(0));
+
+        System.out.println(
+                "✅ PRODUCT/CONTROLLER : testGetAllReturnsEmptyImagesForProductsWithoutMedia() passed successfully.");
+    }
+
+    @Test
+    @WithMockUser
+    void testGetPageReturnsPageMetadata() throws Exception {
+        Product product = new Product("1", "Test Product");
+        Media media1 = new Media("m1", "image1.png", "1");
+
+        when(productService.getPage(any()))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(product), invocation.getArgument(0), 41));
+        when(mediaServiceClient.getByProductIds(Set.of("1")))
+                .thenReturn(ResponseEntity.ok(Map.of("1", List.of(media1))));
+
+        mockMvc.perform(get("/api/products/paged").param("page", "2").param("size", "20").param("sort", "price,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Test Product"))
+                .andExpect(jsonPath("$.content[0].images.length()").value(1))
+                .andExpect(jsonPath("$.page").value(2))
+                .andExpect(jsonPath("$.size").value(20))
+                .andExpect(jsonPath("$.totalElements").value(41))
+                .andExpect(jsonPath("$.totalPages").value(3));
+
+        verify(productService)
+                .getPage(PageRequest.of(2, 20, Sort.by("price").descending()));
+
+        System.out.println("✅ PRODUCT/CONTROLLER : testGetPageReturnsPageMetadata() passed successfully.");
+    }
+
+    @Test
+    @WithMockUser
+    void testSearchReturnsMatchesWithFacets() throws Exception {
+        Product product = new Product("1", "Leather Wallet");
+
+        when(productSearchService.search(new ProductSearchQuery("wallet", 10.0, null, null, 1, 100)))
+                .thenReturn(new ProductSearchResult(List.of(product), 101,
+                        Map.of("0-25", 0L, "25-50", 101L), Map.of("seller-1", 101L)));
+        when(mediaServiceClient.getByProductIds(Set.of("1"))).thenReturn(ResponseEntity.ok(Map.of()));
+
+        // size is capped to the maximum page size
+        mockMvc.perform(get("/api/products/search").param("q", "wallet").param("minPrice", "10")
+                        .param("page", "1").param("size", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("Leather Wallet"))
+                .andExpect(jsonPath("$.content[0].images.length()").value(0))
+                .andExpect(jsonPath("$.page").value(1))
+                .andExpect(jsonPath("$.size").value(100))
+                .andExpect(jsonPath("$.totalElements").value(101))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.facets.price['25-50']").value(101))
+                .andExpect(jsonPath("$.facets.seller['seller-1']").value(101));
+
+        System.out.println("✅ PRODUCT/CONTROLLER : testSearchReturnsMatchesWithFacets() passed successfully.");
+    }
+
+    @Test
+    @WithMockUser
+    void testGetAfterReturnsNextCursorWhenPageIsFull() throws Exception {
+        Product product1 = new Product("652f1c2b9d3e4a0012345671", "First");
+        Product product2 = new Product("652f1c2b9d3e4a0012345672", "Second");
+
+        when(productService.getAfter(null, 2)).thenReturn(List.of(product1, product2));
+        when(mediaServiceClient.getByProductIds(any())).thenReturn(ResponseEntity.ok(Map.of()));
+
+        mockMvc.perform(get("/api/products/cursor").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("652f1c2b9d3e4a0012345672"));
+
+        when(productService.getAfter("652f1c2b9d3e4a0012345672", 2)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/products/cursor").param("after", "652f1c2b9d3e4a0012345672").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        System.out.println(
+                "✅ PRODUCT/CONTROLLER : testGetAfterReturnsNextCursorWhenPageIsFull() passed successfully.");
+    }
+
+    @Test
+    @WithMockUser
+    void testExportStreamsNdjson() throws Exception {
+        Product product1 = new Product("1", "First");
+        Product product2 = new Product("2", "Second");
+        Media media1 = new Media("m1", "image1.png", "1");
+
+        when(productService.streamAll()).thenReturn(Stream.of(product1, product2));
+        when(mediaServiceClient.getByProductIds(Set.of("1", "2")))
+                .thenReturn(ResponseEntity.ok(Map.of("1", List.of(media1))));
+
+        MvcResult result = mockMvc.perform(get("/api/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"imageUrl\":\"image1.png\""));
+        assertTrue(lines[1].contains("\"name\":\"Second\""));
+
+        System.out.println("✅ PRODUCT/CONTROLLER : testExportStreamsNdjson() passed successfully.");
+    }
+
     @Test
     @WithMockUser
     void testCreateProduct() throws Exception {
@@ -150,6 +309,52 @@ public class ProductControllerTest {
         System.out.println("✅ PRODUCT/CONTROLLER : testCreateProduct() passed successfully.");
     }
 
+    @Test
+    void testCreateProductDeletesProductWhenUploadFails() throws Exception {
+        MockMultipartFile image1 = new MockMultipartFile(
+                "images", "image1.png", MediaType.IMAGE_PNG_VALUE,
+                "img1".getBytes(StandardCharsets.UTF_8));
+        MockMultipartFile image2 = new MockMultipartFile(
+                "images", "image2.png", MediaType.IMAGE_PNG_VALUE,
+                "img2".getBytes(StandardCharsets.UTF_8));
+
+        Product savedProduct = new Product("New Product", "Description", 100.0, 5, "user-123");
+        savedProduct.setId("1");
+        when(productService.create(any(Product.class))).thenReturn(savedProduct);
+        when(mediaServiceClient.upload(any(MultipartFile.class), eq("1")))
+                .thenAnswer(invocation -> {
+                    MultipartFile file = invocation.getArgument(0);
+                    if ("image2.png".equals(file.getOriginalFilename())) {
+                        throw new org.springframework.web.server.ResponseStatusException(
+                                org.springframework.http.HttpStatus.BAD_GATEWAY, "storage down");
+                    }
+                    Media media = new Media("m1", "image1.png", "1");
+                    media.setCreated(true);
+                    return media;
+                });
+
+        mockMvc.perform(
+                        org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+                                .multipart("/api/products")
+                                .file(image1)
+                                .file(image2)
+                                .param("name", "New Product")
+                                .param("description", "Description")
+                                .param("price", "100.0")
+                                .param("quantity", "5")
+                                .with(SecurityMockMvcRequestPostProcessors.jwt().jwt(fakeJwt())
+                                        .authorities(new SimpleGrantedAuthority("SELLER")))
+                                .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isBadGateway());
+
+        // The uploaded image and the product are rolled back
+        verify(mediaServiceClient).deleteById("m1");
+        verify(productService).delete(savedProduct);
+
+        System.out.println(
+                "✅ PRODUCT/CONTROLLER : testCreateProductDeletesProductWhenUploadFails() passed successfully.");
+    }
+
     @Test
     void testCreateProductFailsWhenNameMissing() throws Exception {
         MockMultipartFile image1 = new MockMultipartFile(
@@ -188,6 +393,48 @@ public class ProductControllerTest {
                 "✅ PRODUCT/CONTROLLER : testCreateProductFailsWhenNoImages() passed successfully.");
     }
 
+    @Test
+    @WithMockUser
+    void testGetAllWithoutMediaServiceIsNotStored() throws Exception {
+        Product product = new Product("1", "Test Product");
+        MediaServiceClient fallback = new MediaServiceClientFallbackFactory().create(new TimeoutException());
+
+        when(productService.getAll()).thenReturn(List.of(product));
+        when(mediaServiceClient.getByProductIds(Set.of("1"))).thenReturn(fallback.getByProductIds(Set.of("1")));
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(header().doesNotExist(MediaServiceClientFallbackFactory.DEGRADED))
+                .andExpect(jsonPath("$[0].images.length()").value(0));
+
+        System.out.println(
+                "✅ PRODUCT/CONTROLLER : testGetAllWithoutMediaServiceIsNotStored() passed successfully.");
+    }
+
+    @Test
+    @WithMockUser
+    void testGetProductByIdWithoutMediaServiceIsNotStored() throws Exception {
+        Product product = new Product("1", "Test Product");
+        MediaServiceClient fallback = new MediaServiceClientFallbackFactory().create(new TimeoutException());
+
+        when(productService.getById("1")).thenReturn(product);
+        when(mediaServiceClient.getByProductId("1")).thenReturn(fallback.getByProductId("1"));
+
+        mockMvc.perform(get("/api/products/{id}", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"));
+
+        // The next request, answered by media-service, is cacheable again
+        when(mediaServiceClient.getByProductId("1")).thenReturn(ResponseEntity.ok(List.of()));
+        mockMvc.perform(get("/api/products/{id}", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CACHE_CONTROL));
+
+        System.out.println(
+                "✅ PRODUCT/CONTROLLER : testGetProductByIdWithoutMediaServiceIsNotStored() passed successfully.");
+    }
+
     @Test
     @WithMockUser
     void testGetProductByIdReturnsProductResponseDTO() throws Exception {
@@ -0,0 +1,120 @@
+package sn.dev.product_service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import sn.dev.product_service.data.entities.Product;
+import sn.dev.product_service.data.repo.ProductRepo;
+import sn.dev.product_service.services.ProductSearchQuery;
+import sn.dev.product_service.services.ProductSearchResult;
+import sn.dev.product_service.services.impl.ProductSearchServiceImpl;
+
+public class ProductSearchServiceTest {
+    private ProductRepo productRepo;
+    private ProductSearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        productRepo = mock(ProductRepo.class);
+        searchService = new ProductSearchServiceImpl(productRepo, new double[] { 0, 25, 50, 100 });
+        searchService.index(product("1", "Leather wallet", "Handmade in Dakar", 30.0, "seller-a"));
+        searchService.index(product("2", "Canvas bag", "Fits a wallet and a laptop", 60.0, "seller-b"));
+        searchService.index(product("3", "Café arabica", "Beans from Ethiopia", 12.0, "seller-a"));
+        searchService.index(product("4", "Wall clock", "Silent mechanism", 150.0, "seller-b"));
+    }
+
+    private static Product product(String id, String name, String description, Double price, String userId) {
+        Product product = new Product(name, description, price, 5, userId);
+        product.setId(id);
+        return product;
+    }
+
+    private ProductSearchResult search(String text) {
+        return searchService.search(new ProductSearchQuery(text, null, null, null, 0, 20));
+    }
+
+    private static List<String> ids(ProductSearchResult result) {
+        return result.products().stream().map(Product::getId).toList();
+    }
+
+    @Test
+    void nameMatchRanksAboveDescriptionMatch() {
+        ProductSearchResult result = search("wallet");
+
+        assertEquals(List.of("1", "2"), ids(result));
+        assertEquals(2, result.totalElements());
+    }
+
+    @Test
+    void accentsAndCaseAreIgnored() {
+        assertEquals(List.of("3"), ids(search("CAFE")));
+        assertEquals(List.of("3"), ids(search("café")));
+    }
+
+    @Test
+    void lastTermMatchesAsPrefix() {
+        // "wall" is a whole word of product 4 and the prefix of "wallet"
+        assertEquals(List.of("4", "1", "2"), ids(search("wall")));
+        assertEquals(List.of("3"), ids(search("arab")));
+    }
+
+    @Test
+    void blankQueryListsEverythingWithFacets() {
+        ProductSearchResult result = search(" ");
+
+        assertEquals(List.of("1", "2", "3", "4"), ids(result));
+        assertEquals(Map.of("0-25", 1L, "25-50", 1L, "50-100", 1L, "100+", 1L), result.priceFacets());
+        assertEquals(List.of("seller-a", "seller-b"), List.copyOf(result.sellerFacets().keySet()));
+    }
+
+    @Test
+    void eachFacetIsCountedWithoutItsOwnFilter() {
+        ProductSearchResult result = searchService.search(new ProductSearchQuery(null, 20.0, 100.0, "seller-a", 0, 20));
+
+        assertEquals(List.of("1"), ids(result));
+        // Price ranges of seller-a's products, sellers of the products between 20 and 100
+        assertEquals(Map.of("0-25", 1L, "25-50", 1L, "50-100", 0L, "100+", 0L), result.priceFacets());
+        assertEquals(Map.of("seller-a", 1L, "seller-b", 1L), result.sellerFacets());
+    }
+
+    @Test
+    void resultsArePaged() {
+        ProductSearchResult result = searchService.search(new ProductSearchQuery(null, null, null, null, 1, 3));
+
+        assertEquals(List.of("4"), ids(result));
+        assertEquals(4, result.totalElements());
+    }
+
+    @Test
+    void updatesAndRemovalsAreSearchable() {
+        searchService.index(product("4", "Wall mirror", "Round", 150.0, "seller-b"));
+        searchService.remove("1");
+
+        assertEquals(List.of("2"), ids(search("wallet")));
+        assertEquals(List.of("4"), ids(search("mirror")));
+        assertTrue(search("clock").products().isEmpty());
+
+        searchService.removeByUserId("seller-b");
+        assertEquals(List.of("3"), ids(search("")));
+    }
+
+    @Test
+    void rebuildReplacesTheIndexWithTheRepository() {
+        when(productRepo.streamAllBy()).thenReturn(Stream.of(
+                product("9", "Leather belt", "Brown", 20.0, "seller-c")));
+
+        searchService.rebuild();
+
+        assertEquals(List.of("9"), ids(search("leather")));
+        assertEquals(1, search(null).totalElements());
+    }
+}
@@ -0,0 +1,111 @@
+package sn.dev.product_service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import sn.dev.product_service.config.CacheConfig;
+import sn.dev.product_service.data.entities.Product;
+import sn.dev.product_service.data.repo.ProductRepo;
+import sn.dev.product_service.services.ProductSearchService;
+import sn.dev.product_service.services.ProductService;
+import sn.dev.product_service.services.impl.ProductServiceImpl;
+
+@SpringJUnitConfig
+public class ProductServiceCacheTest {
+
+    @Configuration
+    @Import({ CacheConfig.class, ProductServiceImpl.class })
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(CacheConfig.PRODUCTS_CACHE, CacheConfig.PRODUCT_LIST_CACHE);
+        }
+    }
+
+    @MockitoBean
+    private ProductRepo productRepo;
+
+    @MockitoBean
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final Product product = new Product("1", "Cached");
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        reset(productRepo);
+        when(productRepo.findById("1")).thenReturn(Optional.of(product));
+        when(productRepo.findAll()).thenReturn(List.of(product));
+    }
+
+    @Test
+    void getById_secondCallServedFromCache() {
+        productService.getById("1");
+        Product cached = productService.getById("1");
+
+        assertEquals("Cached", cached.getName());
+        verify(productRepo, times(1)).findById("1");
+    }
+
+    @Test
+    void update_evictsProductAndList() {
+        productService.getById("1");
+        productService.getAll();
+
+        productService.update(product);
+        productService.getById("1");
+        productService.getAll();
+
+        verify(productRepo, times(2)).findById("1");
+        verify(productRepo, times(2)).findAll();
+    }
+
+    @Test
+    void create_evictsListOnly() {
+        productService.getById("1");
+        productService.getAll();
+
+        productService.create(new Product("2", "New"));
+        productService.getById("1");
+        productService.getAll();
+
+        verify(productRepo, times(1)).findById("1");
+        verify(productRepo, times(2)).findAll();
+    }
+
+    @Test
+    void deleteByUserId_evictsEverything() {
+        productService.getById("1");
+        productService.getAll();
+
+        productService.deleteByUserId("u1");
+        productService.getById("1");
+        productService.getAll();
+
+        verify(productRepo, times(2)).findById("1");
+        verify(productRepo, times(2)).findAll();
+    }
+}
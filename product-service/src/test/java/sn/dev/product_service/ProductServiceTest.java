@@ -15,22 +15,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 import sn.dev.product_service.data.entities.Product;
 import sn.dev.product_service.data.repo.ProductRepo;
+import sn.dev.product_service.services.ProductSearchService;
 import sn.dev.product_service.services.impl.ProductServiceImpl;
 
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 @ExtendWith(MockitoExtension.class)
 public class ProductServiceTest {
     @Mock
     private ProductRepo productRepo;
 
+    @Mock
+    private ProductSearchService productSearchService;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -60,6 +68,7 @@ public class ProductServiceTest {
 
         // Verify that the repository was called
         verify(productRepo, times(1)).save(product);
+        verify(productSearchService).index(product);
 
         System.out.println("✅ PRODUCT/SERVICE : testCreateProduct() passed successfully.");
     }
@@ -208,6 +217,7 @@ public class ProductServiceTest {
 
         // Verify that save was called
         verify(productRepo, times(1)).save(productToUpdate);
+        verify(productSearchService).index(productToUpdate);
 
         System.out.println("✅ PRODUCT/SERVICE : testUpdateProduct() passed successfully.");
     }
@@ -225,6 +235,7 @@ public class ProductServiceTest {
 
         // Then
         verify(productRepo, times(1)).delete(productToDelete);
+        verify(productSearchService).remove(productToDelete.getId());
 
         System.out.println("✅ PRODUCT/SERVICE : testDeleteProduct() passed successfully.");
     }
@@ -239,8 +250,55 @@ public class ProductServiceTest {
 
         // Then
         verify(productRepo, times(1)).deleteByUserId(userId);
+        verify(productSearchService).removeByUserId(userId);
 
         System.out.println("✅ PRODUCT/SERVICE : testDeleteByUserId() passed successfully.");
     }
 
-}
\ No newline at end of file
+    @Test
+    void testGetAfterWithoutCursorReturnsFirstPage() {
+        // Given
+        Pageable firstPage = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "id"));
+        List<Product> products = List.of(new Product("a", "A"), new Product("b", "B"));
+        when(productRepo.findAllBy(firstPage)).thenReturn(products);
+
+        // When
+        List<Product> result = productService.getAfter(null, 2);
+
+        // Then
+        assertEquals(2, result.size());
+        verify(productRepo, times(1)).findAllBy(firstPage);
+
+        System.out.println("✅ PRODUCT/SERVICE : testGetAfterWithoutCursorReturnsFirstPage() passed successfully.");
+    }
+
+    @Test
+    void testGetAfterWithCursorUsesKeyset() {
+        // Given
+        String cursor = "652f1c2b9d3e4a0012345678";
+        Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.ASC, "id"));
+        when(productRepo.findByIdGreaterThan(cursor, pageable)).thenReturn(Collections.emptyList());
+
+        // When
+        List<Product> result = productService.getAfter(cursor, 20);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(productRepo, times(1)).findByIdGreaterThan(cursor, pageable);
+
+        System.out.println("✅ PRODUCT/SERVICE : testGetAfterWithCursorUsesKeyset() passed successfully.");
+    }
+
+    @Test
+    void testGetAfterWithInvalidCursorThrowsBadRequest() {
+        // When
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> productService.getAfter("not-an-object-id", 20));
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+        verifyNoInteractions(productRepo);
+
+        System.out.println("✅ PRODUCT/SERVICE : testGetAfterWithInvalidCursorThrowsBadRequest() passed successfully.");
+    }
+}
@@ -0,0 +1,139 @@
+package sn.dev.product_service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactoryBean;
+import org.springframework.data.repository.Repository;
+
+import com.mongodb.client.MongoDatabase;
+
+import sn.dev.product_service.config.MongoIndexConfig;
+import sn.dev.product_service.config.QueryPlanVerifier;
+import sn.dev.product_service.data.entities.Product;
+import sn.dev.product_service.data.repo.ProductRepo;
+
+public class QueryPlanVerifierTest {
+
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final List<Document> explained = new ArrayList<>();
+
+    private static Document explainResult(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    private static Document stage(String name, Document inputStage) {
+        Document stage = new Document("stage", name);
+        return inputStage == null ? stage : stage.append("inputStage", inputStage);
+    }
+
+    @Test
+    void detectsCollectionScanInClassicAndSlotBasedPlans() {
+        Document indexed = stage("FETCH", stage("IXSCAN", null).append("indexName", "user_id_idx"));
+        Document scanned = stage("SORT", stage("COLLSCAN", null));
+        Document slotBased = new Document("queryPlan", stage("COLLSCAN", null)).append("slotBasedPlan", new Document("stages", "[1] scan"));
+        Document orPlan = stage("OR", null).append("inputStages", List.of(stage("IXSCAN", null), stage("COLLSCAN", null)));
+
+        assertFalse(QueryPlanVerifier.isCollectionScan(indexed));
+        assertTrue(QueryPlanVerifier.isCollectionScan(scanned));
+        assertTrue(QueryPlanVerifier.isCollectionScan(slotBased));
+        assertTrue(QueryPlanVerifier.isCollectionScan(orPlan));
+    }
+
+    @BeforeEach
+    void setUp() {
+        mappingContext.setInitialEntitySet(Set.of(Product.class));
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(database.runCommand(any(Document.class))).thenAnswer(invocation -> {
+            Document find = invocation.getArgument(0, Document.class).get("explain", Document.class);
+            explained.add(find);
+            // Only the seller lookups miss their index in this fake database
+            return explainResult(find.get("filter", Document.class).toJson().contains("userId")
+                    ? stage("COLLSCAN", null)
+                    : stage("FETCH", stage("IXSCAN", null)));
+        });
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getDb()).thenReturn(database);
+    }
+
+    private <T extends Repository<Product, String>> QueryPlanVerifier verifier(Class<T> repositoryInterface) {
+        MongoRepositoryFactoryBean<T, Product, String> repository = new MongoRepositoryFactoryBean<>(repositoryInterface);
+        repository.setMongoOperations(mongoTemplate);
+        repository.setMappingContext(mappingContext);
+        repository.afterPropertiesSet();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("repository", repository);
+        return new QueryPlanVerifier(mongoTemplate, beanFactory);
+    }
+
+    @Test
+    void explainsEveryDerivedQueryWithItsMappedFilter() {
+        List<String> collectionScans = verifier(ProductRepo.class).findCollectionScans();
+
+        assertEquals(Set.of("ProductRepo.findByUserId", "ProductRepo.deleteByUserId"), Set.copyOf(collectionScans));
+        // findAllBy and streamAllBy have no criteria and are not explained
+        assertEquals(3, explained.size());
+        Document byId = explained.stream()
+                .filter(find -> find.get("filter", Document.class).toJson().contains("_id"))
+                .findFirst().orElseThrow();
+        assertEquals("products", byId.getString("find"));
+        assertTrue(byId.toJson().contains("$gt"));
+        assertTrue(byId.get("filter", Document.class).toJson().contains(new ObjectId("000000000000000000000000").toHexString()));
+    }
+
+    interface PrefixSearchProductRepo extends MongoRepository<Product, String> {
+        List<Product> findByNameStartingWith(String prefix);
+    }
+
+    @Test
+    void failsOnQueriesItDoesNotKnowHowToExplain() {
+        QueryPlanVerifier verifier = verifier(PrefixSearchProductRepo.class);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, verifier::findCollectionScans);
+
+        assertTrue(error.getMessage().contains("STARTING_WITH"));
+        assertTrue(explained.isEmpty());
+    }
+
+    @Test
+    void ensureIndexesCreatesTheProductIndexes() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(Product.class)).thenReturn(indexOps);
+        ArgumentCaptor<IndexDefinition> indexes = ArgumentCaptor.forClass(IndexDefinition.class);
+
+        new MongoIndexConfig(mongoTemplate, null, false).ensureIndexes();
+
+        verify(indexOps, times(2)).createIndex(indexes.capture());
+        assertEquals(List.of("user_id_idx", "price_id_idx"),
+                indexes.getAllValues().stream().map(index -> index.getIndexOptions().getString("name")).toList());
+    }
+}
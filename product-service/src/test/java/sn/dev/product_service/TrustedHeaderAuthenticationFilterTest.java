@@ -0,0 +1,119 @@
+package sn.dev.product_service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import sn.dev.product_service.config.TrustedHeaderAuthenticationFilter;
+
+public class TrustedHeaderAuthenticationFilterTest {
+
+    private static final String SECRET = "internal-secret";
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static JwtAuthenticationConverter converter() {
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName("authorities");
+        authorities.setAuthorityPrefix("");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities);
+        return converter;
+    }
+
+    private static String sign(String secret, String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MockHttpServletRequest request(String signingSecret, long expires) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/products");
+        request.addHeader("X-Auth-Subject", "seller@example.com");
+        request.addHeader("X-Auth-User-Id", "user-1");
+        request.addHeader("X-Auth-Authorities", "ROLE_SELLER");
+        request.addHeader("X-Auth-Expires", String.valueOf(expires));
+        request.addHeader("X-Auth-Signature",
+                sign(signingSecret, "seller@example.com\nuser-1\nROLE_SELLER\n" + expires));
+        return request;
+    }
+
+    private static Authentication filter(String secret, MockHttpServletRequest request) throws Exception {
+        new TrustedHeaderAuthenticationFilter(secret, converter())
+                .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void validSignature_authenticatesWithForwardedIdentity() throws Exception {
+        MockHttpServletRequest request = request(SECRET, Instant.now().plusSeconds(300).getEpochSecond());
+
+        Authentication authentication = filter(SECRET, request);
+
+        assertNotNull(authentication);
+        Jwt jwt = (Jwt) authentication.getPrincipal();
+        assertEquals("user-1", jwt.getClaimAsString("userID"));
+        assertEquals("ROLE_SELLER", authentication.getAuthorities().iterator().next().getAuthority());
+        assertNotNull(request.getAttribute(TrustedHeaderAuthenticationFilter.AUTHENTICATED_ATTRIBUTE));
+    }
+
+    @Test
+    void gatewayTestVector_authenticated() throws Exception {
+        // Signed by api-gateway InternalAuthHeaders.sign, asserted there too (JwtRelayFilterTests):
+        // update the three together if the payload format changes
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("X-Auth-Subject", "seller@example.com");
+        request.addHeader("X-Auth-User-Id", "user-1");
+        request.addHeader("X-Auth-Authorities", "ROLE_SELLER");
+        request.addHeader("X-Auth-Expires", "4102444800");
+        request.addHeader("X-Auth-Signature", "JkI5vW7bf1PjfxaqAA0cCgKqcTCJ_xGGVOO0yRAMD8A");
+
+        Authentication authentication = filter("gateway-test-vector", request);
+
+        assertNotNull(authentication);
+        assertEquals("seller@example.com", authentication.getName());
+    }
+
+    @Test
+    void wrongSignature_notAuthenticated() throws Exception {
+        MockHttpServletRequest request = request("forged", Instant.now().plusSeconds(300).getEpochSecond());
+
+        assertNull(filter(SECRET, request));
+        assertNull(request.getAttribute(TrustedHeaderAuthenticationFilter.AUTHENTICATED_ATTRIBUTE));
+    }
+
+    @Test
+    void expiredHeaders_notAuthenticated() throws Exception {
+        MockHttpServletRequest request = request(SECRET, Instant.now().minusSeconds(1).getEpochSecond());
+
+        assertNull(filter(SECRET, request));
+    }
+
+    @Test
+    void noSecretConfigured_headersIgnored() throws Exception {
+        MockHttpServletRequest request = request(SECRET, Instant.now().plusSeconds(300).getEpochSecond());
+
+        assertNull(filter("", request));
+    }
+}
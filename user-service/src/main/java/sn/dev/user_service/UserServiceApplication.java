@@ -4,11 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import sn.dev.user_service.config.PasswordHashingProperties;
 import sn.dev.user_service.config.RSAKeysConfig;
 
 @SpringBootApplication
 @EnableDiscoveryClient
-@EnableConfigurationProperties(RSAKeysConfig.class)
+@EnableConfigurationProperties({RSAKeysConfig.class, PasswordHashingProperties.class})
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
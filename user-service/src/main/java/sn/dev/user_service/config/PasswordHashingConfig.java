@@ -0,0 +1,61 @@
+package sn.dev.user_service.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    /**
+     * Hashes are stored with their algorithm prefix ({bcrypt}, {pbkdf2}), new ones use the
+     * configured algorithm. Hashes stored before (plain bcrypt, no prefix) still match and are
+     * rehashed on the next successful login, as are hashes of a lower bcrypt cost.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties, ThreadPoolExecutor passwordHashingExecutor) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.bcryptStrength());
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        if (!encoders.containsKey(properties.algorithm())) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + properties.algorithm());
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(properties.algorithm(), encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return new ExecutorPasswordEncoder(delegating, passwordHashingExecutor, properties.timeout());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor passwordHashingExecutor(PasswordHashingProperties properties) {
+        int threads = properties.threads() > 0 ? properties.threads() : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * executor.queued, executor.active, executor.queue.remaining... tagged name=password.hashing
+     */
+    @Bean
+    public MeterBinder passwordHashingExecutorMetrics(ThreadPoolExecutor passwordHashingExecutor) {
+        return registry -> new ExecutorServiceMetrics(passwordHashingExecutor, "password.hashing", Tags.empty())
+                .bindTo(registry);
+    }
+}
@@ -0,0 +1,19 @@
+package sn.dev.user_service.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Password hashing: algorithm used for new hashes, its cost, and the bounded pool the
+ * hashing runs on (threads <= 0 means one per CPU core).
+ */
+@ConfigurationProperties(prefix = "security.password")
+public record PasswordHashingProperties(
+        @DefaultValue("bcrypt") String algorithm,
+        @DefaultValue("12") int bcryptStrength,
+        @DefaultValue("0") int threads,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("5s") Duration timeout) {
+}
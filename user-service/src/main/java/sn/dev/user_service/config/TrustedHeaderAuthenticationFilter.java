@@ -0,0 +1,117 @@
+package sn.dev.user_service.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Authenticates requests from the api-gateway with the identity it already verified: the
+ * X-Auth-* headers are trusted when their HMAC (shared secret) matches and they are not
+ * expired. The principal is the same kind of Jwt as with a bearer token, so controllers
+ * read the userID claim the same way. Anything else falls through to the bearer token check.
+ * The headers are signed by the api-gateway (InternalAuthHeaders.sign); a shared test vector
+ * keeps the payload format the same on both sides.
+ */
+public class TrustedHeaderAuthenticationFilter extends OncePerRequestFilter {
+    public static final String AUTHENTICATED_ATTRIBUTE = TrustedHeaderAuthenticationFilter.class.getName() + ".AUTHENTICATED";
+
+    private static final String SUBJECT = "X-Auth-Subject";
+    private static final String USER_ID = "X-Auth-User-Id";
+    private static final String AUTHORITIES = "X-Auth-Authorities";
+    private static final String EXPIRES = "X-Auth-Expires";
+    private static final String SIGNATURE = "X-Auth-Signature";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final String secret;
+    private final JwtAuthenticationConverter jwtAuthenticationConverter;
+
+    public TrustedHeaderAuthenticationFilter(String secret, JwtAuthenticationConverter jwtAuthenticationConverter) {
+        this.secret = secret;
+        this.jwtAuthenticationConverter = jwtAuthenticationConverter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Jwt jwt = trustedIdentity(request);
+        if (jwt != null) {
+            AbstractAuthenticationToken authentication = jwtAuthenticationConverter.convert(jwt);
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+            request.setAttribute(AUTHENTICATED_ATTRIBUTE, Boolean.TRUE);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Jwt trustedIdentity(HttpServletRequest request) {
+        String signature = request.getHeader(SIGNATURE);
+        if (secret == null || secret.isBlank() || signature == null) {
+            return null;
+        }
+        String subject = request.getHeader(SUBJECT);
+        String userId = request.getHeader(USER_ID);
+        String authorities = request.getHeader(AUTHORITIES);
+        String expiresHeader = request.getHeader(EXPIRES);
+        if (subject == null || userId == null || authorities == null || expiresHeader == null) {
+            return null;
+        }
+
+        long expires;
+        try {
+            expires = Long.parseLong(expiresHeader);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        Instant expiresAt = Instant.ofEpochSecond(expires);
+        if (!expiresAt.isAfter(Instant.now())) {
+            return null;
+        }
+        String expected = sign(subject + "\n" + userId + "\n" + authorities + "\n" + expires);
+        if (!MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII), signature.getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+
+        String authorization = request.getHeader("Authorization");
+        String tokenValue = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring("Bearer ".length())
+                : "gateway";
+        return Jwt.withTokenValue(tokenValue)
+                .header("alg", "none")
+                .subject(subject)
+                .claim("userID", userId)
+                .claim("authorities", authorities)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("Cannot verify internal auth headers", e);
+        }
+    }
+}
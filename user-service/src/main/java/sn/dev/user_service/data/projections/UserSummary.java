@@ -0,0 +1,9 @@
+package sn.dev.user_service.data.projections;
+
+import sn.dev.user_service.data.entities.Role;
+
+/**
+ * The public fields of a user, read from Mongo without the password hash
+ */
+public record UserSummary(String id, String name, String email, Role role, String avatar) {
+}
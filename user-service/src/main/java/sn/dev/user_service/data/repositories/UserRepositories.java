@@ -4,9 +4,21 @@ import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.data.rest.core.annotation.RestResource;
 import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.projections.UserSummary;
+
+import java.util.List;
 
 @RepositoryRestResource(collectionResourceRel = "users", path = "users")
 public interface UserRepositories extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
+
+    // Projections: only the fields of UserSummary are fetched and decoded.
+    // Not exported, the data-rest search endpoints would otherwise list them
+    @RestResource(exported = false)
+    List<UserSummary> findAllBy();
+
+    @RestResource(exported = false)
+    Optional<UserSummary> findSummaryById(String id);
 }
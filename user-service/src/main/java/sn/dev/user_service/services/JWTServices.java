@@ -4,5 +4,9 @@ package sn.dev.user_service.services;
 import org.springframework.security.core.Authentication;
 
 public interface JWTServices {
-    String generateToken(Authentication authentication, String userID);
+    /**
+     * The authentication principal must be the {@link sn.dev.user_service.data.entities.UserPrincipal}
+     * loaded during authentication, the user id claim is read from it.
+     */
+    String generateToken(Authentication authentication);
 }
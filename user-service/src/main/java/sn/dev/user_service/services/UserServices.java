@@ -1,13 +1,16 @@
 package sn.dev.user_service.services;
 
 import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.projections.UserSummary;
+import sn.dev.user_service.web.dto.responses.LoginResponse;
 
 import java.util.List;
 
 
 public interface UserServices {
-    String login(User user);
+    LoginResponse login(User user);
     User findByEmail(String email);
     User findById(String id);
-    List<User> findAllUsers();
+    UserSummary findSummaryById(String id);
+    List<UserSummary> findAllUsers();
 }
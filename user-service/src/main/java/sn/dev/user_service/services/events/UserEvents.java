@@ -30,12 +30,13 @@ public class UserEvents {
     @HandleBeforeCreate
     public void handleUserCreate(User user) throws Exception {
         validationUser(user);
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
         Optional<User> existingUser = userRepositories.findByEmail(user.getEmail());
 
         if (existingUser.isPresent()) {
             throw new UserAlreadyExistsException(user.getEmail());
         }
+        // Hashed only once the user is known to be new, hashing is the expensive part
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
 
     }
 
@@ -7,6 +7,7 @@ import org.springframework.security.oauth2.jwt.JwtClaimsSet;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
 import org.springframework.stereotype.Service;
+import sn.dev.user_service.data.entities.UserPrincipal;
 import sn.dev.user_service.services.JWTServices;
 
 import java.time.Instant;
@@ -20,8 +21,9 @@ public class JWTServicesImpl implements JWTServices {
     private final JwtEncoder jwtEncoder;
 
     @Override
-    public String generateToken(Authentication authentication, String userID) {
+    public String generateToken(Authentication authentication) {
         Instant instant = Instant.now();
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         String formated_authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(" "));
 
         JwtClaimsSet jwtClaimsSet = JwtClaimsSet.builder()
@@ -30,7 +32,7 @@ public class JWTServicesImpl implements JWTServices {
                 .expiresAt(instant.plus(120, ChronoUnit.MINUTES))
                 .issuer("user-service")
                 .claim("authorities", formated_authorities)
-                .claim("userID", userID)
+                .claim("userID", principal.getId())
                 .build();
 
         return jwtEncoder.encode(JwtEncoderParameters.from(jwtClaimsSet)).getTokenValue();
@@ -8,9 +8,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.stereotype.Service;
 import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.entities.UserPrincipal;
+import sn.dev.user_service.data.projections.UserSummary;
 import sn.dev.user_service.data.repositories.UserRepositories;
 import sn.dev.user_service.services.JWTServices;
 import sn.dev.user_service.services.UserServices;
+import sn.dev.user_service.web.dto.responses.LoginResponse;
 
 import java.util.Arrays;
 import java.util.List;
@@ -24,20 +27,25 @@ public class UserServicesImpl implements UserServices {
     private final AuthenticationManager authenticationManager;
 
     @Override
-    public String login(User user) {
+    public LoginResponse login(User user) {
+        Authentication authentication;
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            // The user is loaded once here, the resulting principal carries its id and role
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(user.getEmail(), user.getPassword()));
-            if (authentication.isAuthenticated()) {
-                return jwtServices.generateToken(authentication, user.getId());
-            }
         } catch (AuthenticationException e) {
             System.out.println(e.getMessage());
             System.out.println(user);
             System.out.println(Arrays.stream(e.getStackTrace()).toList());
             throw new AuthenticationCredentialsNotFoundException("Invalid username or password");
         }
-        return "fail";
+        if (!authentication.isAuthenticated()) {
+            throw new AuthenticationCredentialsNotFoundException("Invalid username or password");
+        }
+
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        String token = jwtServices.generateToken(authentication);
+        return new LoginResponse(principal, token);
     }
 
     @Override
@@ -55,7 +63,14 @@ public class UserServicesImpl implements UserServices {
     }
 
     @Override
-    public List<User> findAllUsers() {
-        return userRepositories.findAll();
+    public UserSummary findSummaryById(String id) {
+        return userRepositories.findSummaryById(id)
+                .orElseThrow(
+                        () -> new AuthenticationCredentialsNotFoundException("User not found with id: " + id));
+    }
+
+    @Override
+    public List<UserSummary> findAllUsers() {
+        return userRepositories.findAllBy();
     }
 }
@@ -4,10 +4,8 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 import lombok.AllArgsConstructor;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
-import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.projections.UserSummary;
 import sn.dev.user_service.services.UserServices;
 import sn.dev.user_service.web.controllers.UserControllers;
 import sn.dev.user_service.web.dto.requests.LoginRequests;
@@ -21,24 +19,18 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 public class UserControllersImpl implements UserControllers {
     private final UserServices userServices;
-    private final UserDetailsService userDetailsService;
 
     @Override
     @PostMapping("api/users/login")
     public ResponseEntity<LoginResponse> login(@RequestBody LoginRequests loginRequests) {
-        String userID = userServices.findByEmail(loginRequests.getEmail()).getId();
-        User credentialsUser = loginRequests.toEntity();
-        credentialsUser.setId(userID);
-        String token = userServices.login(credentialsUser);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(credentialsUser.getEmail());
-        LoginResponse loginResponse = new LoginResponse(userDetails, token);
+        LoginResponse loginResponse = userServices.login(loginRequests.toEntity());
         return ResponseEntity.ok(loginResponse);
     }
 
     @Override
     @GetMapping("api/users/{userID}/custom")
     public ResponseEntity<UserResponse> getUser(@PathVariable String userID) {
-        User user = userServices.findById(userID);
+        UserSummary user = userServices.findSummaryById(userID);
         UserResponse userResponse = new UserResponse(user);
         userResponse.add(linkTo(methodOn(this.getClass()).getUser(userID)).withSelfRel());
         return ResponseEntity.ok(userResponse);
@@ -47,13 +39,13 @@ public class UserControllersImpl implements UserControllers {
     @Override
     @GetMapping("api/users/custom")
     public ResponseEntity<CollectionModel<UserResponse>> getUsers() {
-        List<User> users = userServices.findAllUsers();
+        List<UserSummary> users = userServices.findAllUsers();
 
         List<UserResponse> userDtos = users.stream()
                 .map(user -> {
                     UserResponse dto = new UserResponse(user);
                     dto.add(linkTo(methodOn(UserControllersImpl.class)
-                            .getUser(user.getId())) // Assurez-vous que la méthode getUser(id) existe
+                            .getUser(user.id())) // Assurez-vous que la méthode getUser(id) existe
                             .withSelfRel());
                     return dto;
                 })
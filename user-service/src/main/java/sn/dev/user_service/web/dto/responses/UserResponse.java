@@ -3,7 +3,7 @@ package sn.dev.user_service.web.dto.responses;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import org.springframework.hateoas.RepresentationModel;
-import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.projections.UserSummary;
 
 @EqualsAndHashCode(callSuper = true)
 @Data
@@ -14,11 +14,11 @@ public class UserResponse extends RepresentationModel<UserResponse> {
     private String role;
     private String avatar;
 
-    public UserResponse(User user) {
-        this.id = user.getId();
-        this.name = user.getName();
-        this.email = user.getEmail();
-        this.role = user.getRole().toString();
-        this.avatar = user.getAvatar();
+    public UserResponse(UserSummary user) {
+        this.id = user.id();
+        this.name = user.name();
+        this.email = user.email();
+        this.role = user.role().toString();
+        this.avatar = user.avatar();
     }
 }
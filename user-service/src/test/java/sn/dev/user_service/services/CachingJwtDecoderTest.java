@@ -0,0 +1,76 @@
+package sn.dev.user_service.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import sn.dev.user_service.config.CachingJwtDecoder;
+
+public class CachingJwtDecoderTest {
+
+    private final JwtDecoder delegate = mock(JwtDecoder.class);
+    private final CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 100);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void bindMetrics() {
+        decoder.bindTo(registry);
+    }
+
+    private static Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("john@example.com")
+                .issuedAt(Instant.now().minusSeconds(10))
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Test
+    void decode_sameTokenVerifiedOnce() {
+        Jwt jwt = jwt("token-a", Instant.now().plusSeconds(3600));
+        when(delegate.decode("token-a")).thenReturn(jwt);
+
+        decoder.decode("token-a");
+        Jwt second = decoder.decode("token-a");
+
+        assertSame(jwt, second);
+        verify(delegate, times(1)).decode("token-a");
+        assertEquals(1, registry.get("cache.gets").tags("cache", "jwt", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void decode_expiredEntryVerifiedAgain() {
+        when(delegate.decode("token-b")).thenReturn(jwt("token-b", Instant.now().minusSeconds(1)));
+
+        decoder.decode("token-b");
+        decoder.decode("token-b");
+
+        verify(delegate, times(2)).decode("token-b");
+    }
+
+    @Test
+    void decode_invalidTokenNotCached() {
+        when(delegate.decode("bad")).thenThrow(new BadJwtException("bad signature"));
+
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+
+        verify(delegate, times(2)).decode("bad");
+        assertEquals(0, registry.get("cache.size").tag("cache", "jwt").gauge().value());
+    }
+}
@@ -0,0 +1,116 @@
+package sn.dev.user_service.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import sn.dev.user_service.config.ExecutorPasswordEncoder;
+import sn.dev.user_service.config.PasswordHashingConfig;
+import sn.dev.user_service.config.PasswordHashingProperties;
+import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.entities.UserPrincipal;
+import sn.dev.user_service.data.repositories.UserRepositories;
+import sn.dev.user_service.exceptions.ServiceBusyException;
+import sn.dev.user_service.services.impl.UserDetailsServiceImpl;
+
+class PasswordHashingTest {
+
+    private final PasswordHashingConfig config = new PasswordHashingConfig();
+    private final PasswordHashingProperties properties =
+            new PasswordHashingProperties("bcrypt", 4, 1, 1, Duration.ofSeconds(5));
+    private final ThreadPoolExecutor executor = config.passwordHashingExecutor(properties);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void encode_prefixesWithAlgorithm() {
+        PasswordEncoder encoder = config.passwordEncoder(properties, executor);
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("{bcrypt}"));
+        assertTrue(encoder.matches("secret", hash));
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Test
+    void legacyHash_matchesAndIsUpgraded() {
+        PasswordEncoder encoder = config.passwordEncoder(properties, executor);
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void lowerCostHash_isUpgraded() {
+        PasswordEncoder encoder = config.passwordEncoder(
+                new PasswordHashingProperties("bcrypt", 5, 1, 1, Duration.ofSeconds(5)), executor);
+
+        assertTrue(encoder.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret")));
+    }
+
+    @Test
+    void saturatedPool_rejectsWithServiceBusy() throws Exception {
+        ThreadPoolExecutor single = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // One running, one queued: the pool is full
+            single.submit(() -> {
+                release.await();
+                return null;
+            });
+            single.submit(() -> {
+                release.await();
+                return null;
+            });
+            PasswordEncoder encoder = new ExecutorPasswordEncoder(new BCryptPasswordEncoder(4), single, Duration.ofSeconds(5));
+
+            assertThrows(ServiceBusyException.class, () -> encoder.encode("secret"));
+        } finally {
+            release.countDown();
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    void slowHash_timesOutWithServiceBusy() {
+        PasswordEncoder slow = mock(PasswordEncoder.class);
+        when(slow.encode("secret")).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return "hash";
+        });
+        PasswordEncoder encoder = new ExecutorPasswordEncoder(slow, executor, Duration.ofMillis(50));
+
+        assertThrows(ServiceBusyException.class, () -> encoder.encode("secret"));
+    }
+
+    @Test
+    void updatePassword_storesNewHash() {
+        UserRepositories userRepositories = mock(UserRepositories.class);
+        when(userRepositories.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(userRepositories);
+        User user = new User();
+        user.setId("123");
+        user.setPassword("old-hash");
+
+        UserPrincipal updated = (UserPrincipal) userDetailsService.updatePassword(new UserPrincipal(user), "{bcrypt}new-hash");
+
+        assertEquals("{bcrypt}new-hash", updated.getPassword());
+        assertEquals("123", updated.getId());
+        verify(userRepositories).save(user);
+    }
+}
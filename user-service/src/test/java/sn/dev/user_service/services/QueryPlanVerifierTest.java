@@ -0,0 +1,137 @@
+package sn.dev.user_service.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactoryBean;
+import org.springframework.data.repository.Repository;
+
+import com.mongodb.client.MongoDatabase;
+
+import sn.dev.user_service.config.MongoIndexConfig;
+import sn.dev.user_service.config.QueryPlanVerifier;
+import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.repositories.UserRepositories;
+
+public class QueryPlanVerifierTest {
+
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final List<Document> explained = new ArrayList<>();
+
+    private static Document explainResult(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    private static Document stage(String name, Document inputStage) {
+        Document stage = new Document("stage", name);
+        return inputStage == null ? stage : stage.append("inputStage", inputStage);
+    }
+
+    @Test
+    void detectsCollectionScanInClassicAndSlotBasedPlans() {
+        Document indexed = stage("FETCH", stage("IXSCAN", null).append("indexName", "email"));
+        Document scanned = stage("SORT", stage("COLLSCAN", null));
+        Document slotBased = new Document("queryPlan", stage("COLLSCAN", null)).append("slotBasedPlan", new Document("stages", "[1] scan"));
+        Document orPlan = stage("OR", null).append("inputStages", List.of(stage("IXSCAN", null), stage("COLLSCAN", null)));
+
+        assertFalse(QueryPlanVerifier.isCollectionScan(indexed));
+        assertTrue(QueryPlanVerifier.isCollectionScan(scanned));
+        assertTrue(QueryPlanVerifier.isCollectionScan(slotBased));
+        assertTrue(QueryPlanVerifier.isCollectionScan(orPlan));
+    }
+
+    @BeforeEach
+    void setUp() {
+        mappingContext.setInitialEntitySet(Set.of(User.class));
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.afterPropertiesSet();
+
+        MongoDatabase database = mock(MongoDatabase.class);
+        when(database.runCommand(any(Document.class))).thenAnswer(invocation -> {
+            Document find = invocation.getArgument(0, Document.class).get("explain", Document.class);
+            explained.add(find);
+            // Only the email lookup misses its index in this fake database
+            return explainResult(find.get("filter", Document.class).toJson().contains("email")
+                    ? stage("COLLSCAN", null)
+                    : stage("FETCH", stage("IXSCAN", null)));
+        });
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getDb()).thenReturn(database);
+    }
+
+    private <T extends Repository<User, String>> QueryPlanVerifier verifier(Class<T> repositoryInterface) {
+        MongoRepositoryFactoryBean<T, User, String> repository = new MongoRepositoryFactoryBean<>(repositoryInterface);
+        repository.setMongoOperations(mongoTemplate);
+        repository.setMappingContext(mappingContext);
+        repository.afterPropertiesSet();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("repository", repository);
+        return new QueryPlanVerifier(mongoTemplate, beanFactory);
+    }
+
+    @Test
+    void explainsEveryDerivedQueryWithItsMappedFilter() {
+        List<String> collectionScans = verifier(UserRepositories.class).findCollectionScans();
+
+        assertEquals(List.of("UserRepositories.findByEmail"), collectionScans);
+        // findAllBy has no criteria and is not explained
+        assertEquals(2, explained.size());
+        Document byId = explained.stream()
+                .filter(find -> find.get("filter", Document.class).toJson().contains("_id"))
+                .findFirst().orElseThrow();
+        assertEquals("user", byId.getString("find"));
+        assertTrue(byId.get("filter", Document.class).toJson().contains(new ObjectId("000000000000000000000000").toHexString()));
+    }
+
+    interface PrefixSearchUserRepo extends MongoRepository<User, String> {
+        List<User> findByNameStartingWith(String prefix);
+    }
+
+    @Test
+    void failsOnQueriesItDoesNotKnowHowToExplain() {
+        QueryPlanVerifier verifier = verifier(PrefixSearchUserRepo.class);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, verifier::findCollectionScans);
+
+        assertTrue(error.getMessage().contains("STARTING_WITH"));
+        assertTrue(explained.isEmpty());
+    }
+
+    @Test
+    void ensureIndexesCreatesTheUniqueEmailIndex() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(User.class)).thenReturn(indexOps);
+        ArgumentCaptor<IndexDefinition> index = ArgumentCaptor.forClass(IndexDefinition.class);
+
+        new MongoIndexConfig(mongoTemplate, null, false).ensureIndexes();
+
+        verify(indexOps).createIndex(index.capture());
+        assertEquals(new Document("email", 1), index.getValue().getIndexKeys());
+        assertTrue(index.getValue().getIndexOptions().getBoolean("unique"));
+    }
+}
@@ -9,8 +9,8 @@ import org.springframework.hateoas.CollectionModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import sn.dev.user_service.data.entities.*;
+import sn.dev.user_service.data.projections.UserSummary;
 import sn.dev.user_service.web.controllers.impl.UserControllersImpl;
 import sn.dev.user_service.web.dto.requests.LoginRequests;
 import sn.dev.user_service.web.dto.responses.LoginResponse;
@@ -26,9 +26,6 @@ class UserControllersImplTest {
     @Mock
     private UserServices userServices;
 
-    @Mock
-    private UserDetailsService userDetailsService;
-
     @InjectMocks
     private UserControllersImpl userControllers;
 
@@ -42,20 +39,13 @@ class UserControllersImplTest {
         System.out.println("TEST LOGIN");
         // given
         LoginRequests loginRequests = new LoginRequests("john@example.com", "password123");
-        sn.dev.user_service.data.entities.User mockUser = new sn.dev.user_service.data.entities.User();
-        mockUser.setId("123");
-        mockUser.setEmail("john@example.com");
-        mockUser.setPassword("password123");
-
-        when(userServices.findByEmail("john@example.com")).thenReturn(mockUser);
-        when(userServices.login(any(sn.dev.user_service.data.entities.User.class)))
-                .thenReturn("fake-jwt-token");
 
         UserDetails mockUserDetails = User.withUsername("john@example.com")
                 .password("password123")
                 .authorities("ROLE_USER")
                 .build();
-        when(userDetailsService.loadUserByUsername("john@example.com")).thenReturn(mockUserDetails);
+        when(userServices.login(any(sn.dev.user_service.data.entities.User.class)))
+                .thenReturn(new LoginResponse(mockUserDetails, "fake-jwt-token"));
 
         // when
         ResponseEntity<LoginResponse> response = userControllers.login(loginRequests);
@@ -64,6 +54,7 @@ class UserControllersImplTest {
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
         assertEquals("fake-jwt-token", response.getBody().getToken());
+        verify(userServices, never()).findByEmail(any());
 
     }
 
@@ -71,13 +62,9 @@ class UserControllersImplTest {
     void testGetUserById() {
         System.out.println("TEST GET ONE USER CONTROLLER");
         // given
-        sn.dev.user_service.data.entities.User mockUser = new sn.dev.user_service.data.entities.User();
-        mockUser.setId("123");
-        mockUser.setEmail("alice@example.com");
-        mockUser.setPassword("pwd");
-        mockUser.setRole(Role.CLIENT);
+        UserSummary mockUser = new UserSummary("123", "Alice", "alice@example.com", Role.CLIENT, null);
 
-        when(userServices.findById("123")).thenReturn(mockUser);
+        when(userServices.findSummaryById("123")).thenReturn(mockUser);
 
         // when
         ResponseEntity<UserResponse> response = userControllers.getUser("123");
@@ -94,15 +81,8 @@ class UserControllersImplTest {
     void testGetUsers() {
         System.out.println("TEST GET ALL USERS CONTROLLERS");
         // given
-        sn.dev.user_service.data.entities.User user1 = new sn.dev.user_service.data.entities.User();
-        user1.setId("1");
-        user1.setEmail("bob@example.com");
-        user1.setRole(Role.SELLER);
-
-        sn.dev.user_service.data.entities.User user2 = new sn.dev.user_service.data.entities.User();
-        user2.setId("2");
-        user2.setEmail("jane@example.com");
-        user2.setRole(Role.CLIENT);
+        UserSummary user1 = new UserSummary("1", "Bob", "bob@example.com", Role.SELLER, null);
+        UserSummary user2 = new UserSummary("2", "Jane", "jane@example.com", Role.CLIENT, null);
 
         when(userServices.findAllUsers()).thenReturn(List.of(user1, user2));
 
@@ -11,9 +11,13 @@ import org.springframework.security.authentication.AuthenticationCredentialsNotF
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import sn.dev.user_service.data.entities.Role;
 import sn.dev.user_service.data.entities.User;
+import sn.dev.user_service.data.entities.UserPrincipal;
+import sn.dev.user_service.data.projections.UserSummary;
 import sn.dev.user_service.data.repositories.UserRepositories;
 import sn.dev.user_service.services.impl.UserServicesImpl;
+import sn.dev.user_service.web.dto.responses.LoginResponse;
 
 import java.util.Arrays;
 import java.util.List;
@@ -43,19 +47,30 @@ public class UserServicesTest {
         user.setEmail("test@example.com");
         user.setPassword("password");
 
+        User stored = new User();
+        stored.setId("123");
+        stored.setEmail("test@example.com");
+        stored.setRole(Role.SELLER);
+        UserPrincipal principal = new UserPrincipal(stored);
+
         String expectedToken = "mocked_jwt_token";
 
         Authentication authentication = Mockito.mock(Authentication.class);
         Mockito.when(authenticationManager.authenticate(Mockito.any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
         Mockito.when(authentication.isAuthenticated()).thenReturn(true);
+        Mockito.when(authentication.getPrincipal()).thenReturn(principal);
 
-        Mockito.when(jwtServices.generateToken(Mockito.any(Authentication.class), Mockito.isNull())).thenReturn(expectedToken);
+        Mockito.when(jwtServices.generateToken(authentication)).thenReturn(expectedToken);
 
-        String result = userServicesImpl.login(user);
+        LoginResponse result = userServicesImpl.login(user);
 
-        Assertions.assertEquals(expectedToken, result);
+        Assertions.assertEquals(expectedToken, result.getToken());
+        Assertions.assertEquals("test@example.com", result.getEmail());
+        Assertions.assertEquals(List.of("SELLER"), result.getRole());
         Mockito.verify(authenticationManager, Mockito.times(1)).authenticate(Mockito.any(UsernamePasswordAuthenticationToken.class));
-        Mockito.verify(jwtServices, Mockito.times(1)).generateToken(Mockito.any(Authentication.class), Mockito.isNull());
+        Mockito.verify(jwtServices, Mockito.times(1)).generateToken(authentication);
+        // Everything comes from the authenticated principal, no extra lookup
+        Mockito.verifyNoInteractions(userRepositories);
     }
 
 
@@ -73,11 +88,11 @@ public class UserServicesTest {
         // When / Then
         assertThrows(AuthenticationCredentialsNotFoundException.class, () -> userServicesImpl.login(user));
         verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtServices, never()).generateToken(any(), any()); // Should not generate token
+        verify(jwtServices, never()).generateToken(any()); // Should not generate token
     }
 
     @Test
-    void login_AuthenticationNotAuthenticated_ReturnsFail() {
+    void login_AuthenticationNotAuthenticated_ThrowsAuthenticationException() {
         // Given
         User user = new User();
         user.setEmail("test@example.com");
@@ -88,12 +103,9 @@ public class UserServicesTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(false);
 
-        // When
-        String result = userServicesImpl.login(user);
-
-        // Then
-        assertEquals("fail", result);
-        verify(jwtServices, never()).generateToken(any(), any());
+        // When / Then
+        assertThrows(AuthenticationCredentialsNotFoundException.class, () -> userServicesImpl.login(user));
+        verify(jwtServices, never()).generateToken(any());
     }
 
     @Test
@@ -146,24 +158,43 @@ public class UserServicesTest {
     }
 
     @Test
-    void findAllUsers_ReturnsAllUsers() {
-        User userA = new User();
-        userA.setEmail("test@example.com");
-        userA.setPassword("password");
-
-        User userB = new User();
-        userB.setEmail("test1@example.com");
-        userB.setPassword("password");
+    void findSummaryById_UserExists_ReturnsSummary() {
+        // Given
+        UserSummary summary = new UserSummary("user-id-123", "Test", "test@example.com", Role.CLIENT, null);
+        when(userRepositories.findSummaryById("user-id-123")).thenReturn(Optional.of(summary));
+
+        // When
+        UserSummary found = userServicesImpl.findSummaryById("user-id-123");
+
+        // Then
+        assertEquals("test@example.com", found.email());
+        verify(userRepositories, never()).findById(any());
+    }
+
+    @Test
+    void findSummaryById_UserNotFound_ThrowsException() {
+        // Given
+        when(userRepositories.findSummaryById("non-existent-id")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThrows(AuthenticationCredentialsNotFoundException.class, () -> userServicesImpl.findSummaryById("non-existent-id"));
+    }
+
+    @Test
+    void findAllUsers_ReturnsSummariesWithoutLoadingFullDocuments() {
         // Given
-        List<User> userList = Arrays.asList(userA, userB);
-        when(userRepositories.findAll()).thenReturn(userList);
+        List<UserSummary> summaries = Arrays.asList(
+                new UserSummary("a", "A", "test@example.com", Role.CLIENT, null),
+                new UserSummary("b", "B", "test1@example.com", Role.SELLER, null));
+        when(userRepositories.findAllBy()).thenReturn(summaries);
 
         // When
-        List<User> foundUsers = userServicesImpl.findAllUsers();
+        List<UserSummary> foundUsers = userServicesImpl.findAllUsers();
 
         // Then
         assertEquals(2, foundUsers.size());
-        assertEquals("test@example.com", foundUsers.get(0).getEmail());
+        assertEquals("test@example.com", foundUsers.get(0).email());
+        verify(userRepositories, never()).findAll();
     }
 
 }